@@ -21,4 +21,17 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Dedicated, bounded pool for report jobs so long PDF exports never
+    // starve other async work on the shared taskExecutor
+    @Bean(name = "reportExecutor")
+    public Executor reportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("Report-");
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
@@ -1,17 +1,27 @@
 package com.roombooking.system.controller;
 
 import com.roombooking.system.dto.ApiResponse;
+import com.roombooking.system.dto.AuditEntityState;
+import com.roombooking.system.dto.AuditLogCount;
+import com.roombooking.system.dto.AuditLogFilter;
+import com.roombooking.system.dto.AuditLogPage;
+import com.roombooking.system.dto.AuditLogRecord;
+import com.roombooking.system.enums.AuditAction;
 import com.roombooking.system.model.AuditLog;
 import com.roombooking.system.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/audit")
@@ -24,9 +34,9 @@ public class AuditLogController {
 
     // Get recent audit logs (Admin only)
     @GetMapping("/recent")
-    public ResponseEntity<?> getRecentLogs() {
+    public ResponseEntity<?> getRecentLogs(@RequestParam(defaultValue = "50") int limit) {
         try {
-            List<AuditLog> logs = auditLogService.getRecentLogs(50);
+            List<AuditLogRecord> logs = auditLogService.getRecentLogs(limit);
             return ResponseEntity.ok(new ApiResponse(true, "Recent logs fetched", logs));
         } catch (Exception e) {
             log.error("Failed to fetch recent logs: {}", e.getMessage());
@@ -35,6 +45,46 @@ public class AuditLogController {
         }
     }
 
+    // Search logs by any combination of filters, one page at a time (newest first)
+    @GetMapping("/logs")
+    public ResponseEntity<?> getLogs(@RequestParam(required = false) Long userId,
+                                     @RequestParam(required = false) String entityType,
+                                     @RequestParam(required = false) Long entityId,
+                                     @RequestParam(required = false) AuditAction action,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer size) {
+        try {
+            AuditLogFilter filter = new AuditLogFilter(userId, entityType, entityId, action, start, end);
+            AuditLogPage page = auditLogService.getLogsPage(filter, cursor, size);
+            return ResponseEntity.ok(new ApiResponse(true, "Logs fetched", page));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch logs: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Count of logs matching the same filters, exact up to 10000
+    @GetMapping("/logs/count")
+    public ResponseEntity<?> countLogs(@RequestParam(required = false) Long userId,
+                                       @RequestParam(required = false) String entityType,
+                                       @RequestParam(required = false) Long entityId,
+                                       @RequestParam(required = false) AuditAction action,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        try {
+            AuditLogFilter filter = new AuditLogFilter(userId, entityType, entityId, action, start, end);
+            AuditLogCount count = auditLogService.estimateCount(filter);
+            return ResponseEntity.ok(new ApiResponse(true, "Log count estimated", count));
+        } catch (RuntimeException e) {
+            log.error("Failed to count logs: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     // Get logs by entity type (e.g., BOOKING, ROOM)
     @GetMapping("/entity/{entityType}")
     public ResponseEntity<?> getLogsByEntityType(@PathVariable String entityType) {
@@ -62,13 +112,62 @@ public class AuditLogController {
         }
     }
 
+    // Rebuild an entity's state at a point in time (defaults to now) from its audit trail
+    @GetMapping("/entity/{entityType}/{entityId}/state")
+    public ResponseEntity<?> getEntityState(
+            @PathVariable String entityType,
+            @PathVariable Long entityId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        try {
+            AuditEntityState state = auditLogService.rebuildState(entityType, entityId,
+                    at != null ? at : LocalDateTime.now());
+            return ResponseEntity.ok(new ApiResponse(true, "Entity state rebuilt", state));
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild entity state: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Stream every log in the range as newline-delimited JSON, optionally gzipped.
+    // Rows are in id order; pass the last id received as afterId to resume.
+    @GetMapping("/export")
+    public ResponseEntity<?> exportLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, "Start cannot be after end", null));
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                auditLogService.writeExport(start, end, afterId, compressed);
+                compressed.finish();
+            } else {
+                auditLogService.writeExport(start, end, afterId, out);
+            }
+        };
+
+        String filename = "audit_" + start.toLocalDate() + "_to_" + end.toLocalDate() + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
     // Get logs by date range
     @GetMapping("/date-range")
     public ResponseEntity<?> getLogsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "1000") int limit) {
         try {
-            List<AuditLog> logs = auditLogService.getLogsByDateRange(start, end);
+            List<AuditLogRecord> logs = auditLogService.getLogsByDateRange(start, end, limit);
             return ResponseEntity.ok(new ApiResponse(true, "Logs fetched for date range", logs));
         } catch (Exception e) {
             log.error("Failed to fetch logs by date range: {}", e.getMessage());
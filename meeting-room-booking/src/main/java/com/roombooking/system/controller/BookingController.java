@@ -2,8 +2,12 @@ package com.roombooking.system.controller;
 
 import com.roombooking.system.dto.ApiResponse;
 import com.roombooking.system.dto.ApprovalRequest;
+import com.roombooking.system.dto.BatchApprovalResult;
+import com.roombooking.system.dto.BookingFilter;
+import com.roombooking.system.dto.BookingPage;
 import com.roombooking.system.dto.BookingRequest;
 import com.roombooking.system.dto.BookingResponse;
+import com.roombooking.system.enums.BookingStatus;
 import com.roombooking.system.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +16,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/bookings")
@@ -53,6 +59,26 @@ public class BookingController {
         }
     }
 
+    // Approve/Reject many bookings at once (Admin)
+    @PostMapping("/approve/batch")
+    public ResponseEntity<?> approveBookings(@RequestBody List<ApprovalRequest> requests) {
+        try {
+            if (requests == null || requests.isEmpty()) {
+                throw new RuntimeException("At least one approval is required");
+            }
+            log.info("Batch approval request for {} bookings", requests.size());
+            List<BatchApprovalResult> results = bookingService.approveBookings(requests);
+            long succeeded = results.stream().filter(BatchApprovalResult::success).count();
+            String message = String.format("Processed %d bookings: %d succeeded, %d failed",
+                    results.size(), succeeded, results.size() - succeeded);
+            return ResponseEntity.ok(new ApiResponse(true, message, results));
+        } catch (RuntimeException e) {
+            log.error("Failed to process batch approval: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     // Cancel booking
     @DeleteMapping("/{bookingId}")
     public ResponseEntity<?> cancelBooking(@PathVariable Long bookingId, 
@@ -68,28 +94,55 @@ public class BookingController {
         }
     }
 
-    // Get my bookings (Employee)
+    // Get my bookings (Employee), one page at a time
     @GetMapping("/my-bookings")
-    public ResponseEntity<?> getMyBookings(@RequestParam Long userId) {
+    public ResponseEntity<?> getMyBookings(@RequestParam Long userId,
+                                           @RequestParam(required = false) Long roomId,
+                                           @RequestParam(required = false) BookingStatus status,
+                                           @RequestParam(required = false) String startDate,
+                                           @RequestParam(required = false) String endDate,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size) {
         try {
-            List<BookingResponse> bookings = bookingService.getMyBookings(userId);
-            return ResponseEntity.ok(new ApiResponse(true, "Bookings fetched successfully", bookings));
+            BookingFilter filter = new BookingFilter(userId, roomId, status, parseDate(startDate), parseDate(endDate));
+            BookingPage page = bookingService.getBookingsPage(filter, cursor, size);
+            return ResponseEntity.ok(new ApiResponse(true, "Bookings fetched successfully", page));
         } catch (RuntimeException e) {
             log.error("Failed to fetch bookings: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Get my booking totals per status (Employee dashboard)
+    @GetMapping("/my-bookings/counts")
+    public ResponseEntity<?> getMyBookingCounts(@RequestParam Long userId) {
+        try {
+            Map<BookingStatus, Long> counts = bookingService.getMyBookingCounts(userId);
+            return ResponseEntity.ok(new ApiResponse(true, "Booking counts fetched successfully", counts));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch booking counts: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
 
-    // Get all bookings (Admin)
+    // Get all bookings (Admin), one page at a time
     @GetMapping("/all")
-    public ResponseEntity<?> getAllBookings() {
+    public ResponseEntity<?> getAllBookings(@RequestParam(required = false) Long userId,
+                                            @RequestParam(required = false) Long roomId,
+                                            @RequestParam(required = false) BookingStatus status,
+                                            @RequestParam(required = false) String startDate,
+                                            @RequestParam(required = false) String endDate,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size) {
         try {
-            List<BookingResponse> bookings = bookingService.getAllBookings();
-            return ResponseEntity.ok(new ApiResponse(true, "All bookings fetched", bookings));
+            BookingFilter filter = new BookingFilter(userId, roomId, status, parseDate(startDate), parseDate(endDate));
+            BookingPage page = bookingService.getBookingsPage(filter, cursor, size);
+            return ResponseEntity.ok(new ApiResponse(true, "All bookings fetched", page));
         } catch (RuntimeException e) {
             log.error("Failed to fetch bookings: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
@@ -119,4 +172,8 @@ public class BookingController {
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
+
+    private LocalDate parseDate(String date) {
+        return date == null || date.isBlank() ? null : LocalDate.parse(date);
+    }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.roombooking.system.controller;
 import com.roombooking.system.dto.ApiResponse;
 import com.roombooking.system.dto.RecurringBookingRequest;
 import com.roombooking.system.dto.RecurringBookingResponse;
+import com.roombooking.system.dto.RecurringPreviewResponse;
+import com.roombooking.system.dto.RecurringRunReport;
 import com.roombooking.system.service.RecurringBookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +39,18 @@ public class RecurringBookingController {
         }
     }
 
+    // Preview which occurrences of a proposed rule conflict with approved bookings
+    @PostMapping("/preview")
+    public ResponseEntity<?> previewRecurringBooking(@Valid @RequestBody RecurringBookingRequest request) {
+        try {
+            RecurringPreviewResponse preview = recurringBookingService.previewRecurringBooking(request);
+            return ResponseEntity.ok(new ApiResponse(true, "Recurring booking preview", preview));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
     // Delete recurring booking (deactivate)
     @DeleteMapping("/{ruleId}")
     public ResponseEntity<?> deleteRecurringBooking(@PathVariable Long ruleId, 
@@ -83,12 +97,23 @@ public class RecurringBookingController {
     public ResponseEntity<?> processRecurringBookingsNow() {
         try {
             log.info("Manual trigger: Processing recurring bookings");
-            recurringBookingService.processRecurringBookings();
-            return ResponseEntity.ok(new ApiResponse(true, "Recurring bookings processed successfully", null));
+            RecurringRunReport report = recurringBookingService.processRecurringBookings();
+            return ResponseEntity.ok(new ApiResponse(true, "Recurring bookings processed successfully", report));
         } catch (Exception e) {
             log.error("Failed to process recurring bookings: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
-}
\ No newline at end of file
+
+    // Report of the last materialization run (created/skipped/conflicted counts and timings)
+    @GetMapping("/last-run")
+    public ResponseEntity<?> getLastRunReport() {
+        RecurringRunReport report = recurringBookingService.getLastRunReport();
+        if (report == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, "No recurring booking run since startup", null));
+        }
+        return ResponseEntity.ok(new ApiResponse(true, "Last run report retrieved", report));
+    }
+}
@@ -2,21 +2,23 @@ package com.roombooking.system.controller;
 
 import com.roombooking.system.dto.AnalyticsSummary;
 import com.roombooking.system.dto.ApiResponse;
+import com.roombooking.system.dto.ReportJobResponse;
 import com.roombooking.system.dto.ReportRequest;
 import com.roombooking.system.dto.RoomUtilizationStats;
+import com.roombooking.system.service.ReportJobService;
 import com.roombooking.system.service.ReportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -29,6 +31,7 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
 
     // Generate and download PDF report
     @PostMapping("/bookings/pdf")
@@ -36,29 +39,71 @@ public class ReportController {
         try {
             log.info("PDF report request from {} to {}", request.startDate(), request.endDate());
             
-            byte[] pdfBytes = reportService.generateBookingsReport(request);
-            
             // Create filename with date
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
             String filename = "bookings_report_" + 
                             request.startDate().format(formatter) + "_to_" + 
                             request.endDate().format(formatter) + ".pdf";
 
-            Resource resource = new ByteArrayResource(pdfBytes);
+            return streamPdf(request, filename);
+
+        } catch (RuntimeException e) {
+            log.error("Report generation failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Queue a PDF report job; poll /jobs/{jobId} and download when COMPLETED
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitReportJob(@Valid @RequestBody ReportRequest request) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
+        String filename = "bookings_report_" +
+                        request.startDate().format(formatter) + "_to_" +
+                        request.endDate().format(formatter) + ".pdf";
+        return submitJob(request, filename);
+    }
+
+    @PostMapping("/jobs/current-month")
+    public ResponseEntity<?> submitCurrentMonthJob() {
+        LocalDate startDate = LocalDate.now().withDayOfMonth(1);
+        LocalDate endDate = LocalDate.now().withDayOfMonth(LocalDate.now().lengthOfMonth());
+        return submitJob(new ReportRequest(startDate, endDate, null, null, null), "bookings_current_month.pdf");
+    }
+
+    @PostMapping("/jobs/last-week")
+    public ResponseEntity<?> submitLastWeekJob() {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(7);
+        return submitJob(new ReportRequest(startDate, endDate, null, null, null), "bookings_last_7_days.pdf");
+    }
+
+    // Poll report job status and progress
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getReportJob(@PathVariable String jobId) {
+        try {
+            ReportJobResponse job = reportJobService.getJob(jobId);
+            return ResponseEntity.ok(new ApiResponse(true, "Report job fetched", job));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Download a finished report, served straight from disk
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<?> downloadReportJob(@PathVariable String jobId) {
+        try {
+            ReportJobResponse job = reportJobService.getJob(jobId);
+            Resource resource = new FileSystemResource(reportJobService.getReportFile(jobId));
 
             return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.filename() + "\"")
                     .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(pdfBytes.length)
                     .body(resource);
-
-        } catch (IOException e) {
-            log.error("Failed to generate PDF report: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse(false, "Failed to generate report: " + e.getMessage(), null));
         } catch (RuntimeException e) {
-            log.error("Report generation failed: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            log.error("Failed to download report job {}: {}", jobId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
@@ -76,15 +121,21 @@ public class ReportController {
         }
     }
 
-    // Get room utilization statistics
+    // Get room occupancy over a date window (defaults to the current month)
     @GetMapping("/analytics/room-utilization")
-    public ResponseEntity<?> getRoomUtilization() {
+    public ResponseEntity<?> getRoomUtilization(@RequestParam(required = false) String startDate,
+                                                @RequestParam(required = false) String endDate,
+                                                @RequestParam(required = false) Long roomId) {
         try {
-            List<RoomUtilizationStats> stats = reportService.getRoomUtilization();
+            LocalDate start = startDate != null ? LocalDate.parse(startDate) : LocalDate.now().withDayOfMonth(1);
+            LocalDate end = endDate != null ? LocalDate.parse(endDate)
+                    : start.withDayOfMonth(start.lengthOfMonth());
+
+            List<RoomUtilizationStats> stats = reportService.getRoomUtilization(start, end, roomId);
             return ResponseEntity.ok(new ApiResponse(true, "Room utilization stats fetched", stats));
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             log.error("Failed to fetch room utilization: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
@@ -100,15 +151,7 @@ public class ReportController {
                     LocalDate.now().lengthOfMonth());
             
             ReportRequest request = new ReportRequest(startDate, endDate, null, null, null);
-            byte[] pdfBytes = reportService.generateBookingsReport(request);
-            
-            String filename = "bookings_current_month.pdf";
-            Resource resource = new ByteArrayResource(pdfBytes);
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(resource);
+            return streamPdf(request, "bookings_current_month.pdf");
 
         } catch (Exception e) {
             log.error("Failed to generate current month report: {}", e.getMessage());
@@ -125,15 +168,7 @@ public class ReportController {
             LocalDate startDate = endDate.minusDays(7);
             
             ReportRequest request = new ReportRequest(startDate, endDate, null, null, null);
-            byte[] pdfBytes = reportService.generateBookingsReport(request);
-            
-            String filename = "bookings_last_7_days.pdf";
-            Resource resource = new ByteArrayResource(pdfBytes);
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(resource);
+            return streamPdf(request, "bookings_last_7_days.pdf");
 
         } catch (Exception e) {
             log.error("Failed to generate last week report: {}", e.getMessage());
@@ -152,15 +187,7 @@ public class ReportController {
             LocalDate end = LocalDate.parse(endDate);
             
             ReportRequest request = new ReportRequest(start, end, userId, null, null);
-            byte[] pdfBytes = reportService.generateBookingsReport(request);
-            
-            String filename = "user_" + userId + "_bookings_report.pdf";
-            Resource resource = new ByteArrayResource(pdfBytes);
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(resource);
+            return streamPdf(request, "user_" + userId + "_bookings_report.pdf");
 
         } catch (Exception e) {
             log.error("Failed to generate user report: {}", e.getMessage());
@@ -168,4 +195,29 @@ public class ReportController {
                     .body(new ApiResponse(false, e.getMessage(), null));
         }
     }
+
+    private ResponseEntity<?> submitJob(ReportRequest request, String filename) {
+        try {
+            log.info("Report job request from {} to {}", request.startDate(), request.endDate());
+            ReportJobResponse job = reportJobService.submit(request, filename);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new ApiResponse(true, "Report job queued", job));
+        } catch (RuntimeException e) {
+            log.error("Failed to queue report job: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+
+    // Validate eagerly, then write the PDF straight to the response output stream
+    private ResponseEntity<StreamingResponseBody> streamPdf(ReportRequest request, String filename) {
+        reportService.validateReportRequest(request);
+
+        StreamingResponseBody body = out -> reportService.writeBookingsReport(request, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
 }
\ No newline at end of file
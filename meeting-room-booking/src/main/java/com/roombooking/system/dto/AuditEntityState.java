@@ -0,0 +1,13 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record AuditEntityState(
+        String entityType,
+        Long entityId,
+        LocalDateTime asOf,
+        Map<String, Object> fields,   // Field values rebuilt from the audit trail
+        boolean deleted,
+        int eventsApplied
+) {}
@@ -0,0 +1,6 @@
+package com.roombooking.system.dto;
+
+public record AuditLogCount(
+        long count,
+        boolean exact   // False when counting stopped at the cap; count is then a lower bound
+) {}
@@ -0,0 +1,14 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDateTime;
+
+import com.roombooking.system.enums.AuditAction;
+
+public record AuditLogFilter(
+        Long userId,           // Optional: Filter by acting user
+        String entityType,     // Optional: Filter by entity type (e.g., BOOKING, ROOM)
+        Long entityId,         // Optional: Filter by entity id (usually with entityType)
+        AuditAction action,    // Optional: Filter by action
+        LocalDateTime start,   // Optional: Earliest timestamp (inclusive)
+        LocalDateTime end      // Optional: Latest timestamp (inclusive)
+) {}
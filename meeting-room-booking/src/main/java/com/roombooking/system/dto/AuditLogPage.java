@@ -0,0 +1,9 @@
+package com.roombooking.system.dto;
+
+import java.util.List;
+
+public record AuditLogPage(
+        List<AuditLogRecord> items,
+        int size,
+        String nextCursor   // Null when this is the last page
+) {}
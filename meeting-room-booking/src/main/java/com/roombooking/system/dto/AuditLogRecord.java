@@ -0,0 +1,19 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDateTime;
+
+import com.roombooking.system.enums.AuditAction;
+
+// Flat audit row, shared by database reads and archived segment files
+public record AuditLogRecord(
+        Long id,
+        Long userId,
+        String userName,
+        String entityType,
+        Long entityId,
+        AuditAction action,
+        String oldValue,
+        String newValue,
+        String ipAddress,
+        LocalDateTime timestamp
+) {}
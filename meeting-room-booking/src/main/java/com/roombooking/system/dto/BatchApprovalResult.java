@@ -0,0 +1,10 @@
+package com.roombooking.system.dto;
+
+import com.roombooking.system.enums.BookingStatus;
+
+public record BatchApprovalResult(
+        Long bookingId,
+        boolean success,
+        BookingStatus status, // Status after processing, null if booking not found
+        String message
+) {}
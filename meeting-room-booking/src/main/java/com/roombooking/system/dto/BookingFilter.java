@@ -0,0 +1,13 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDate;
+
+import com.roombooking.system.enums.BookingStatus;
+
+public record BookingFilter(
+        Long userId,          // Optional: Filter by specific user
+        Long roomId,          // Optional: Filter by specific room
+        BookingStatus status, // Optional: Filter by status
+        LocalDate startDate,  // Optional: Earliest booking date (inclusive)
+        LocalDate endDate     // Optional: Latest booking date (inclusive)
+) {}
@@ -0,0 +1,14 @@
+package com.roombooking.system.dto;
+
+import com.roombooking.system.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record BookingInterval(
+        Long roomId,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        BookingStatus status
+) {}
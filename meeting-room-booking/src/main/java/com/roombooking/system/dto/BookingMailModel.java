@@ -0,0 +1,53 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+
+// Flat snapshot of a booking for notification templates, taken while the
+// booking's session is still open so rendering never touches lazy proxies
+public record BookingMailModel(
+        String recipientEmail,
+        String recipientName,
+        String requestedBy,
+        String meetingTitle,
+        String roomName,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        int attendeesCount,
+        String description,
+        String decidedBy,       // Null unless approved/rejected
+        LocalDateTime decidedAt,
+        long minutesBefore      // Reminders only
+) {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("hh:mm a");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd-MMM-yyyy hh:mm a");
+
+    // Placeholder names accepted by value()
+    public static final Set<String> KEYS = Set.of(
+            "recipientName", "requestedBy", "meetingTitle", "roomName", "date", "startTime", "endTime",
+            "attendees", "description", "decidedBy", "decidedAt", "minutesBefore");
+
+    public String value(String key) {
+        return switch (key) {
+            case "recipientName" -> recipientName;
+            case "requestedBy" -> requestedBy;
+            case "meetingTitle" -> meetingTitle;
+            case "roomName" -> roomName;
+            case "date" -> DATE.format(bookingDate);
+            case "startTime" -> TIME.format(startTime);
+            case "endTime" -> TIME.format(endTime);
+            case "attendees" -> Integer.toString(attendeesCount);
+            case "description" -> description != null ? description : "N/A";
+            case "decidedBy" -> decidedBy != null ? decidedBy : "";
+            case "decidedAt" -> decidedAt != null ? DATE_TIME.format(decidedAt) : "";
+            case "minutesBefore" -> Long.toString(minutesBefore);
+            default -> throw new IllegalArgumentException("Unknown mail template key: " + key);
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package com.roombooking.system.dto;
+
+import java.util.List;
+
+public record BookingPage(
+        List<BookingResponse> items,
+        int size,
+        String nextCursor   // Null when this is the last page
+) {}
@@ -0,0 +1,15 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.roombooking.system.enums.BookingStatus;
+
+public record BookingReportRow(
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        String roomName,
+        String meetingTitle,
+        BookingStatus status
+) {}
@@ -0,0 +1,12 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record BookingSlot(
+        Long bookingId,
+        Long roomId,
+        LocalDate bookingDate,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
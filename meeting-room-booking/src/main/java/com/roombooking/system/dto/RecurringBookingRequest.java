@@ -6,6 +6,8 @@ import java.util.List;
 
 import com.roombooking.system.enums.RecurrenceFrequency;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -38,5 +40,9 @@ public record RecurringBookingRequest(
         
         List<Integer> daysOfWeek, // For WEEKLY: [1,3,5] = Mon, Wed, Fri (1=Mon, 7=Sun)
         
-        Integer attendeesCount
+        Integer attendeesCount,
+
+        @Min(value = 1, message = "Horizon must be at least 1 day")
+        @Max(value = 366, message = "Horizon cannot exceed 366 days")
+        Integer horizonDays // Days ahead to create bookings; defaults to the system setting
 ) {}
\ No newline at end of file
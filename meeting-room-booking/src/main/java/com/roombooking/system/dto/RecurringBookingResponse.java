@@ -2,6 +2,7 @@ package com.roombooking.system.dto;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 import com.roombooking.system.enums.RecurrenceFrequency;
 
@@ -18,8 +19,10 @@ public record RecurringBookingResponse(
         LocalTime startTime,
         LocalTime endTime,
         RecurrenceFrequency frequency,
-        String daysOfWeek, // JSON string
+        List<Integer> daysOfWeek, // 1=Mon, 7=Sun
         Integer attendeesCount,
         Boolean isActive,
+        Integer horizonDays,
+        LocalDate materializedThrough, // Bookings exist up to this date
         Integer bookingsCreated // Number of bookings created from this rule
 ) {}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record RecurringPreviewResponse(
+        int occurrences,
+        List<LocalDate> conflictingDates // Occurrences overlapping an approved booking
+) {}
@@ -0,0 +1,15 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDateTime;
+
+public record RecurringRunReport(
+        LocalDateTime startedAt,
+        long durationMs,
+        int rules,           // Rules with new occurrences
+        int rooms,           // Partitions processed concurrently
+        long created,
+        long skipped,        // Slot already taken, e.g. by an earlier run
+        long conflicted,     // Overlapped an approved booking
+        int failedRules,     // Left at their watermark for the next run
+        long slowestRoomMs
+) {}
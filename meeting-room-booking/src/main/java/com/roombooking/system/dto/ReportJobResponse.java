@@ -0,0 +1,18 @@
+package com.roombooking.system.dto;
+
+import java.time.LocalDateTime;
+
+import com.roombooking.system.enums.ReportJobStatus;
+
+public record ReportJobResponse(
+        String jobId,
+        ReportJobStatus status,
+        int progressPercent,
+        long rowsWritten,
+        long totalRows,
+        String filename,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt,
+        LocalDateTime expiresAt
+) {}
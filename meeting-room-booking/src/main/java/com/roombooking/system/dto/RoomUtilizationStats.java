@@ -1,8 +1,16 @@
 package com.roombooking.system.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
 public record RoomUtilizationStats(
         Long roomId,
         String roomName,
         int totalBookings,
         int approvedBookings,
-        double utilizationPercentage
+        long bookedMinutes,       // Approved minutes inside business hours
+        long availableMinutes,    // Business minutes in the window
+        double utilizationPercentage,
+        Map<LocalDate, Double> dailyOccupancy,   // Per business day, in percent
+        Map<Integer, Double> hourlyOccupancy     // Per business hour across the window, in percent
 ) {}
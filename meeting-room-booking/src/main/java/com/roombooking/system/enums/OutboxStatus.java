@@ -0,0 +1,8 @@
+package com.roombooking.system.enums;
+
+public enum OutboxStatus {
+    HELD,
+    PENDING,
+    SENT,
+    DEAD
+}
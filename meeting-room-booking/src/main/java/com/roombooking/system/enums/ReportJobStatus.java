@@ -0,0 +1,8 @@
+package com.roombooking.system.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
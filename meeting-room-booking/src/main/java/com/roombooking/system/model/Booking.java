@@ -75,6 +75,10 @@ public class Booking {
     @Column
     private LocalDateTime approvedAt;
 
+    // Set once the meeting reminder has been queued, so it is never sent twice
+    @Column
+    private LocalDateTime reminderSentAt;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
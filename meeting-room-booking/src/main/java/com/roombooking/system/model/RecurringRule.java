@@ -61,12 +61,25 @@ public class RecurringRule {
     private RecurrenceFrequency frequency;
 
  
-    @Column(length = 50)
-    private String daysOfWeek;
+    // For WEEKLY: bit 0 = Monday ... bit 6 = Sunday
+    @Column(name = "days_of_week_mask")
+    private Integer daysOfWeekMask;
 
     @Column
     private Integer attendeesCount;
 
+    // Days ahead to create bookings; null uses recurring.horizon-days
+    @Column
+    private Integer horizonDays;
+
+    // Bookings have been generated up to and including this date
+    @Column
+    private LocalDate materializedThrough;
+
+    // The nightly job picks the rule up from this date; null once it has ended
+    @Column
+    private LocalDate materializeDueOn;
+
     @Column(nullable = false)
     private Boolean isActive = true;
 
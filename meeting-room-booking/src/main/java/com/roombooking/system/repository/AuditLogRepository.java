@@ -1,25 +1,57 @@
 package com.roombooking.system.repository;
+import com.roombooking.system.dto.AuditLogRecord;
 import com.roombooking.system.model.AuditLog;
 import com.roombooking.system.model.User;
 import com.roombooking.system.enums.AuditAction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
+
+    String AUDIT_RECORD_SELECT = "SELECT new com.roombooking.system.dto.AuditLogRecord(" +
+            "a.id, u.id, u.username, a.entityType, a.entityId, a.action, a.oldValue, a.newValue, a.ipAddress, a.timestamp) " +
+            "FROM AuditLog a LEFT JOIN a.user u ";
     
     List<AuditLog> findByUser(User user);
     
     List<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId);
     
-    List<AuditLog> findByEntityType(String entityType);
+    // Most recent logs for an entity type; older history is paged via the date-range API
+    List<AuditLog> findTop500ByEntityTypeOrderByTimestampDesc(String entityType);
     
     List<AuditLog> findByAction(AuditAction action);
-    
-    List<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
-    
-    List<AuditLog> findTop50ByOrderByTimestampDesc();
-}
\ No newline at end of file
+
+    @Query(AUDIT_RECORD_SELECT + "WHERE a.timestamp BETWEEN :start AND :end ORDER BY a.timestamp, a.id")
+    List<AuditLogRecord> findRecordsBetween(@Param("start") LocalDateTime start,
+                                            @Param("end") LocalDateTime end,
+                                            Limit limit);
+
+    // Forward-only cursor for NDJSON exports, in id order so an export can resume after a given id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(AUDIT_RECORD_SELECT + "WHERE a.timestamp BETWEEN :start AND :end AND a.id > :afterId ORDER BY a.id")
+    Stream<AuditLogRecord> streamRecords(@Param("start") LocalDateTime start,
+                                         @Param("end") LocalDateTime end,
+                                         @Param("afterId") long afterId);
+
+    // Audit trail of one entity up to a point in time, oldest first, for state replay
+    @Query(AUDIT_RECORD_SELECT + "WHERE a.entityType = :entityType AND a.entityId = :entityId " +
+           "AND a.timestamp <= :until ORDER BY a.timestamp, a.id")
+    List<AuditLogRecord> findRecordsForEntity(@Param("entityType") String entityType,
+                                              @Param("entityId") Long entityId,
+                                              @Param("until") LocalDateTime until);
+
+    // Oldest rows past the retention cutoff, in id order, for the archiver
+    @Query(AUDIT_RECORD_SELECT + "WHERE a.timestamp < :cutoff ORDER BY a.id")
+    List<AuditLogRecord> findRecordsBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+}
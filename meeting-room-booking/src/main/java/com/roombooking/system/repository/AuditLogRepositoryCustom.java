@@ -0,0 +1,19 @@
+package com.roombooking.system.repository;
+
+import com.roombooking.system.dto.AuditLogFilter;
+import com.roombooking.system.dto.AuditLogRecord;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Filtered audit queries whose WHERE clause only names the filters that are set,
+// so each statement is planned against the composite index for its filters
+public interface AuditLogRepositoryCustom {
+
+    // Keyset page ordered newest first by (timestamp, id); the "before" values come
+    // from the last row of the previous page and are null for the first page
+    List<AuditLogRecord> findRecordPage(AuditLogFilter filter, LocalDateTime beforeTime, Long beforeId, int limit);
+
+    // Matching rows, counted up to the cap without reading them into the application
+    long countMatching(AuditLogFilter filter, int cap);
+}
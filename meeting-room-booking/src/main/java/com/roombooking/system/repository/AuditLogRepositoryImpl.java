@@ -0,0 +1,83 @@
+package com.roombooking.system.repository;
+
+import com.roombooking.system.dto.AuditLogFilter;
+import com.roombooking.system.dto.AuditLogRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLogRecord> findRecordPage(AuditLogFilter filter, LocalDateTime beforeTime, Long beforeId,
+                                               int limit) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> conditions = conditions(filter, params);
+        if (beforeTime != null) {
+            conditions.add("(a.timestamp < :beforeTime OR (a.timestamp = :beforeTime AND a.id < :beforeId))");
+            params.put("beforeTime", beforeTime);
+            params.put("beforeId", beforeId);
+        }
+
+        TypedQuery<AuditLogRecord> query = entityManager.createQuery(
+                AuditLogRepository.AUDIT_RECORD_SELECT + where(conditions) + "ORDER BY a.timestamp DESC, a.id DESC",
+                AuditLogRecord.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatching(AuditLogFilter filter, int cap) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> conditions = conditions(filter, params);
+
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(*) FROM (SELECT a.id AS id FROM AuditLog a " + where(conditions) +
+                // HQL only limits an ordered subquery; (timestamp, id) ends every composite index
+                "ORDER BY a.timestamp, a.id LIMIT " + cap + ") matched", Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static List<String> conditions(AuditLogFilter filter, Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.userId() != null) {
+            conditions.add("a.user.id = :userId");
+            params.put("userId", filter.userId());
+        }
+        if (filter.entityType() != null) {
+            conditions.add("a.entityType = :entityType");
+            params.put("entityType", filter.entityType());
+        }
+        if (filter.entityId() != null) {
+            conditions.add("a.entityId = :entityId");
+            params.put("entityId", filter.entityId());
+        }
+        if (filter.action() != null) {
+            conditions.add("a.action = :action");
+            params.put("action", filter.action());
+        }
+        if (filter.start() != null) {
+            conditions.add("a.timestamp >= :start");
+            params.put("start", filter.start());
+        }
+        if (filter.end() != null) {
+            conditions.add("a.timestamp <= :end");
+            params.put("end", filter.end());
+        }
+        return conditions;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+}
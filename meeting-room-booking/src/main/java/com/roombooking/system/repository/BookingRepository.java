@@ -1,20 +1,41 @@
 package com.roombooking.system.repository;
+import com.roombooking.system.dto.BookingInterval;
+import com.roombooking.system.dto.BookingResponse;
+import com.roombooking.system.dto.BookingSlot;
 import com.roombooking.system.model.Booking;
 import com.roombooking.system.model.Room;
 import com.roombooking.system.model.User;
 import com.roombooking.system.enums.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
     
+    // Read paths for booking list endpoints: rows are projected straight into
+    // BookingResponse so room, user and approver names come from one joined SELECT
+    String BOOKING_RESPONSE_SELECT = "SELECT new com.roombooking.system.dto.BookingResponse(" +
+            "b.id, r.id, r.name, u.id, u.fullName, b.meetingTitle, b.description, " +
+            "b.bookingDate, b.startTime, b.endTime, b.attendeesCount, b.status, " +
+            "a.id, a.fullName, b.approvedAt, b.createdAt) " +
+            "FROM Booking b JOIN b.room r JOIN b.user u LEFT JOIN b.approvedBy a ";
+
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE b.status = :status ORDER BY b.id")
+    List<BookingResponse> findResponsesByStatus(@Param("status") BookingStatus status);
+
+    @Query(BOOKING_RESPONSE_SELECT + "WHERE b.id = :id")
+    Optional<BookingResponse> findResponseById(@Param("id") Long id);
+
     List<Booking> findByUser(User user);
     
     List<Booking> findByUserAndStatus(User user, BookingStatus status);
@@ -40,14 +61,65 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                           @Param("startTime") LocalTime startTime,
                                           @Param("endTime") LocalTime endTime);
     
-    @Query("SELECT b FROM Booking b WHERE b.bookingDate = :date " +
-           "AND b.startTime BETWEEN :startTime AND :endTime " +
-           "AND b.status = 'APPROVED'")
-    List<Booking> findUpcomingBookings(@Param("date") LocalDate date,
-                                       @Param("startTime") LocalTime startTime,
-                                       @Param("endTime") LocalTime endTime);
+    // Every booking of the rooms on the dates, any status, for set-based conflict checks
+    @Query("SELECT new com.roombooking.system.dto.BookingInterval(b.room.id, b.bookingDate, b.startTime, b.endTime, b.status) " +
+           "FROM Booking b WHERE b.room.id IN :roomIds AND b.bookingDate IN :dates")
+    List<BookingInterval> findIntervalsOn(@Param("roomIds") Collection<Long> roomIds,
+                                          @Param("dates") Collection<LocalDate> dates);
+
+    @Query("SELECT new com.roombooking.system.dto.BookingSlot(b.id, b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.status = 'APPROVED' AND b.bookingDate >= :fromDate")
+    List<BookingSlot> findApprovedSlotsFrom(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT new com.roombooking.system.dto.BookingSlot(b.id, b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.status = 'APPROVED' AND b.room.id IN :roomIds " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate")
+    List<BookingSlot> findApprovedSlotsForRooms(@Param("roomIds") Collection<Long> roomIds,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    // Total and approved bookings per room in a window, for utilization reports
+    @Query("SELECT b.room.id, COUNT(b), SUM(CASE WHEN b.status = 'APPROVED' THEN 1 ELSE 0 END) " +
+           "FROM Booking b WHERE b.room.id IN :roomIds " +
+           "AND b.bookingDate BETWEEN :startDate AND :endDate GROUP BY b.room.id")
+    List<Object[]> countByRoomInWindow(@Param("roomIds") Collection<Long> roomIds,
+                                       @Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room JOIN FETCH b.user WHERE b.id IN :ids")
+    List<Booking> findAllWithRoomAndUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Approved bookings whose reminder has not been sent, for rebuilding the reminder queue
+    @Query("SELECT new com.roombooking.system.dto.BookingSlot(b.id, b.room.id, b.bookingDate, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.status = 'APPROVED' AND b.reminderSentAt IS NULL AND b.bookingDate >= :fromDate")
+    List<BookingSlot> findUnremindedSlotsFrom(@Param("fromDate") LocalDate fromDate);
+
+    // Claims a booking's reminder; returns 0 if it was already sent or the booking is no longer approved
+    @Modifying
+    @Query("UPDATE Booking b SET b.reminderSentAt = :now " +
+           "WHERE b.id = :id AND b.status = 'APPROVED' AND b.reminderSentAt IS NULL")
+    int markReminderSent(@Param("id") Long id, @Param("now") LocalDateTime now);
     
+    // Aggregates used to reconcile the in-memory analytics counters
+    @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT b.status, COUNT(b) FROM Booking b WHERE b.user.id = :userId GROUP BY b.status")
+    List<Object[]> countByUserGroupedByStatus(@Param("userId") Long userId);
+
+    @Query("SELECT b.room.id, COUNT(b) FROM Booking b GROUP BY b.room.id")
+    List<Object[]> countGroupedByRoom();
+
+    @Query("SELECT EXTRACT(HOUR FROM b.startTime), COUNT(b) FROM Booking b " +
+           "GROUP BY EXTRACT(HOUR FROM b.startTime)")
+    List<Object[]> countGroupedByStartHour();
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.room.id = :roomId " +
            "AND b.status = 'APPROVED'")
     Long countByRoomId(@Param("roomId") Long roomId);
+
+    // Bookings created from each of the given recurring rules
+    @Query("SELECT b.recurringRule.id, COUNT(b) FROM Booking b " +
+           "WHERE b.recurringRule.id IN :ruleIds GROUP BY b.recurringRule.id")
+    List<Object[]> countGroupedByRecurringRule(@Param("ruleIds") Collection<Long> ruleIds);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.roombooking.system.repository;
+
+import com.roombooking.system.dto.BookingFilter;
+import com.roombooking.system.dto.BookingReportRow;
+import com.roombooking.system.dto.BookingResponse;
+import com.roombooking.system.enums.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Filtered booking queries whose WHERE clause only names the filters that are set,
+// so each statement is planned against the composite index for its filters
+public interface BookingRepositoryCustom {
+
+    // Keyset page ordered by (bookingDate, startTime, id); the "after" values come
+    // from the last row of the previous page and are all null for the first page
+    List<BookingResponse> findResponsePage(BookingFilter filter, LocalDate afterDate, LocalTime afterTime,
+                                           Long afterId, int limit);
+
+    // Filters and ordering for PDF reports, streamed as flat rows so the
+    // persistence context does not grow with the result size
+    Stream<BookingReportRow> streamReportRows(LocalDate startDate, LocalDate endDate,
+                                              Long userId, Long roomId, BookingStatus status);
+
+    long countReportRows(LocalDate startDate, LocalDate endDate, Long userId, Long roomId, BookingStatus status);
+}
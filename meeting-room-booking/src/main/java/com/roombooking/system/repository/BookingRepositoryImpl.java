@@ -0,0 +1,111 @@
+package com.roombooking.system.repository;
+
+import com.roombooking.system.dto.BookingFilter;
+import com.roombooking.system.dto.BookingReportRow;
+import com.roombooking.system.dto.BookingResponse;
+import com.roombooking.system.enums.BookingStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final String REPORT_ROW_SELECT = "SELECT new com.roombooking.system.dto.BookingReportRow(" +
+            "b.bookingDate, b.startTime, b.endTime, b.room.name, b.meetingTitle, b.status) FROM Booking b ";
+
+    private static final String ORDER_BY = "ORDER BY b.bookingDate, b.startTime, b.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponse> findResponsePage(BookingFilter filter, LocalDate afterDate, LocalTime afterTime,
+                                                  Long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> conditions = conditions(filter.userId(), filter.roomId(), filter.status(), params);
+        if (filter.startDate() != null) {
+            conditions.add("b.bookingDate >= :startDate");
+            params.put("startDate", filter.startDate());
+        }
+        if (filter.endDate() != null) {
+            conditions.add("b.bookingDate <= :endDate");
+            params.put("endDate", filter.endDate());
+        }
+        if (afterDate != null) {
+            // Row comparison, so the (booking_date, start_time, id) composites bound the scan
+            conditions.add("(b.bookingDate, b.startTime, b.id) > (:afterDate, :afterTime, :afterId)");
+            params.put("afterDate", afterDate);
+            params.put("afterTime", afterTime);
+            params.put("afterId", afterId);
+        }
+
+        TypedQuery<BookingResponse> query = entityManager.createQuery(
+                BookingRepository.BOOKING_RESPONSE_SELECT + where(conditions) + ORDER_BY, BookingResponse.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<BookingReportRow> streamReportRows(LocalDate startDate, LocalDate endDate,
+                                                     Long userId, Long roomId, BookingStatus status) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> conditions = reportConditions(startDate, endDate, userId, roomId, status, params);
+
+        TypedQuery<BookingReportRow> query = entityManager.createQuery(
+                REPORT_ROW_SELECT + where(conditions) + ORDER_BY, BookingReportRow.class);
+        params.forEach(query::setParameter);
+        return query.setHint(HibernateHints.HINT_FETCH_SIZE, 500).getResultStream();
+    }
+
+    @Override
+    public long countReportRows(LocalDate startDate, LocalDate endDate, Long userId, Long roomId,
+                                BookingStatus status) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> conditions = reportConditions(startDate, endDate, userId, roomId, status, params);
+
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(b) FROM Booking b " + where(conditions), Long.class);
+        params.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static List<String> reportConditions(LocalDate startDate, LocalDate endDate, Long userId, Long roomId,
+                                                 BookingStatus status, Map<String, Object> params) {
+        List<String> conditions = conditions(userId, roomId, status, params);
+        conditions.add("b.bookingDate BETWEEN :startDate AND :endDate");
+        params.put("startDate", startDate);
+        params.put("endDate", endDate);
+        return conditions;
+    }
+
+    private static List<String> conditions(Long userId, Long roomId, BookingStatus status,
+                                           Map<String, Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (userId != null) {
+            conditions.add("b.user.id = :userId");
+            params.put("userId", userId);
+        }
+        if (roomId != null) {
+            conditions.add("b.room.id = :roomId");
+            params.put("roomId", roomId);
+        }
+        if (status != null) {
+            conditions.add("b.status = :status");
+            params.put("status", status);
+        }
+        return conditions;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+}
@@ -0,0 +1,47 @@
+package com.roombooking.system.repository;
+
+import com.roombooking.system.enums.OutboxStatus;
+import com.roombooking.system.model.OutboxEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<OutboxEmail, Long> {
+
+    // Pending emails that are due, oldest first. Lock timeout -2 is SKIP LOCKED,
+    // so concurrent dispatchers claim disjoint batches instead of waiting
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<OutboxEmail> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    // Recipients whose oldest held notification has waited out the digest window
+    @Query("SELECT e.recipient FROM OutboxEmail e WHERE e.status = 'HELD' " +
+           "GROUP BY e.recipient HAVING MIN(e.createdAt) <= :cutoff")
+    List<String> findDigestRecipients(@Param("cutoff") LocalDateTime cutoff);
+
+    // Held notifications of one recipient, oldest first; skipped if another instance is folding them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = 'HELD' AND e.recipient = :recipient ORDER BY e.id")
+    List<OutboxEmail> findHeld(@Param("recipient") String recipient, Limit limit);
+
+    long countByStatus(OutboxStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = 'SENT' AND e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
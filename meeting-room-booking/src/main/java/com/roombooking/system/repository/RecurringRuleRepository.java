@@ -15,10 +15,16 @@ public interface RecurringRuleRepository extends JpaRepository<RecurringRule, Lo
     List<RecurringRule> findByUser(User user);
     
     List<RecurringRule> findByUserAndIsActiveTrue(User user);
+
+    // Active rules of a user with room and owner loaded, for the listing
+    @Query("SELECT r FROM RecurringRule r JOIN FETCH r.room JOIN FETCH r.user " +
+           "WHERE r.user.id = :userId AND r.isActive = true ORDER BY r.id")
+    List<RecurringRule> findActiveByUserId(@Param("userId") Long userId);
     
     List<RecurringRule> findByIsActiveTrue();
     
-    @Query("SELECT r FROM RecurringRule r WHERE r.isActive = true " +
-           "AND r.startDate <= :date AND r.endDate >= :date")
-    List<RecurringRule> findActiveRulesForDate(@Param("date") LocalDate date);
+    // Rules whose next occurrence has entered their horizon, with room and owner loaded
+    @Query("SELECT r FROM RecurringRule r JOIN FETCH r.room JOIN FETCH r.user " +
+           "WHERE r.isActive = true AND r.materializeDueOn <= :today")
+    List<RecurringRule> findDueForMaterialization(@Param("today") LocalDate today);
 }
\ No newline at end of file
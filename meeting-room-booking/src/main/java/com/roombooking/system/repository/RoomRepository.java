@@ -2,6 +2,7 @@ package com.roombooking.system.repository;
 
 import com.roombooking.system.model.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +12,12 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     
     List<Room> findByIsActiveTrue();
     
+    long countByIsActiveTrue();
+
+    // Id and name of every room, for labelling analytics without loading entities
+    @Query("SELECT r.id, r.name FROM Room r")
+    List<Object[]> findAllIdAndName();
+    
     List<Room> findByFloorAndIsActiveTrue(Integer floor);
     
     List<Room> findByCapacityGreaterThanEqualAndIsActiveTrue(Integer capacity);
@@ -20,6 +20,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     List<User> findByIsActiveTrue();
     
+    long countByIsActiveTrue();
+    
     List<User> findByRole(UserRole role);
     
     List<User> findByRoleAndIsActiveTrue(UserRole role);
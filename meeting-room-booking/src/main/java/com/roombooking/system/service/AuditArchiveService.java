@@ -0,0 +1,266 @@
+package com.roombooking.system.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.roombooking.system.dto.AuditLogRecord;
+import com.roombooking.system.repository.AuditLogRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Monthly retention for audit_logs. The database keeps the current month plus
+// the configured number of previous months; older rows are moved by a nightly
+// job into one append-only segment per month (audit-YYYY-MM.jsonl.gz) on local
+// disk. Each archive chunk is appended as its own gzip member, written before
+// the rows are deleted, and readers skip ids already seen, so a crash between
+// the two steps only ever leaves a harmless duplicate behind.
+@Service
+@Slf4j
+public class AuditArchiveService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${audit.archive.dir:audit-archive}")
+    private String archiveDir;
+
+    @Value("${audit.retention.months:6}")
+    private int retentionMonths;
+
+    private Path storageDir;
+
+    // Readers must not see a gzip member that is still being written
+    private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+
+    public AuditArchiveService(AuditLogRepository auditLogRepository, ObjectMapper objectMapper) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        storageDir = Paths.get(archiveDir);
+        Files.createDirectories(storageDir);
+    }
+
+    // Rows older than this live in segment files rather than the database
+    public LocalDateTime getCutoff() {
+        return YearMonth.now().minusMonths(retentionMonths).atDay(1).atStartOfDay();
+    }
+
+    @Scheduled(cron = "${audit.archive.cron:0 30 2 * * *}")
+    public void archiveExpired() {
+        LocalDateTime cutoff = getCutoff();
+        long archived = 0;
+
+        List<AuditLogRecord> chunk;
+        while (!(chunk = auditLogRepository.findRecordsBefore(cutoff, Limit.of(CHUNK_SIZE))).isEmpty()) {
+            Map<YearMonth, List<AuditLogRecord>> byMonth = new TreeMap<>();
+            for (AuditLogRecord record : chunk) {
+                byMonth.computeIfAbsent(YearMonth.from(record.timestamp()), m -> new ArrayList<>()).add(record);
+            }
+
+            segmentLock.writeLock().lock();
+            try {
+                byMonth.forEach(this::append);
+            } finally {
+                segmentLock.writeLock().unlock();
+            }
+
+            auditLogRepository.deleteAllByIdInBatch(chunk.stream().map(AuditLogRecord::id).toList());
+            archived += chunk.size();
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} audit logs older than {} to {}", archived, cutoff, storageDir);
+        }
+    }
+
+    // The first `max` archived rows with a timestamp in [start, end], oldest first.
+    // Segments are read month by month and reading stops once `max` rows are
+    // collected; within a month only the `max` oldest matches are kept in memory.
+    public List<AuditLogRecord> readRange(LocalDateTime start, LocalDateTime end, int max) {
+        Comparator<AuditLogRecord> order = Comparator.comparing(AuditLogRecord::timestamp)
+                .thenComparing(AuditLogRecord::id);
+        List<AuditLogRecord> result = new ArrayList<>();
+        segmentLock.readLock().lock();
+        try {
+            for (YearMonth month = YearMonth.from(start);
+                 !month.isAfter(YearMonth.from(end)) && result.size() < max; month = month.plusMonths(1)) {
+                Path segment = segmentFor(month);
+                if (!Files.exists(segment)) {
+                    continue;
+                }
+                int remaining = max - result.size();
+                // Newest on top, so it is the one dropped when the heap is full
+                PriorityQueue<AuditLogRecord> oldest = new PriorityQueue<>(order.reversed());
+                long lastId = 0;
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(segment));
+                     MappingIterator<AuditLogRecord> records =
+                             objectMapper.readerFor(AuditLogRecord.class).readValues(in)) {
+                    while (records.hasNext()) {
+                        AuditLogRecord record = records.next();
+                        // Segments are written in id order, so this also skips duplicates
+                        if (record.id() <= lastId) {
+                            continue;
+                        }
+                        lastId = record.id();
+                        if (record.timestamp().isBefore(start) || record.timestamp().isAfter(end)) {
+                            continue;
+                        }
+                        oldest.add(record);
+                        if (oldest.size() > remaining) {
+                            oldest.poll();
+                        }
+                    }
+                }
+                List<AuditLogRecord> monthRecords = new ArrayList<>(oldest);
+                monthRecords.sort(order);
+                result.addAll(monthRecords);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive", e);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // Stream archived rows in [start, end] with id > afterId to the consumer in id
+    // order, one record at a time; returns the last id passed on (or afterId)
+    public long forEachInRange(LocalDateTime start, LocalDateTime end, long afterId,
+                               Consumer<AuditLogRecord> consumer) {
+        long lastId = afterId;
+        segmentLock.readLock().lock();
+        try {
+            for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end));
+                 month = month.plusMonths(1)) {
+                Path segment = segmentFor(month);
+                if (!Files.exists(segment)) {
+                    continue;
+                }
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(segment));
+                     MappingIterator<AuditLogRecord> records =
+                             objectMapper.readerFor(AuditLogRecord.class).readValues(in)) {
+                    while (records.hasNext()) {
+                        AuditLogRecord record = records.next();
+                        // Segments are written in id order, so this also skips duplicates
+                        if (record.id() > lastId && !record.timestamp().isBefore(start)
+                                && !record.timestamp().isAfter(end)) {
+                            consumer.accept(record);
+                            lastId = record.id();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive", e);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+        return lastId;
+    }
+
+    // Archived history of one entity up to a point in time, oldest first
+    public List<AuditLogRecord> readEntity(String entityType, Long entityId, LocalDateTime until) {
+        List<YearMonth> months = archivedMonths().stream()
+                .filter(month -> !month.isAfter(YearMonth.from(until)))
+                .toList();
+        return read(months, r -> r.entityType().equals(entityType) && r.entityId().equals(entityId)
+                && !r.timestamp().isAfter(until));
+    }
+
+    private List<AuditLogRecord> read(List<YearMonth> months, Predicate<AuditLogRecord> filter) {
+        Map<Long, AuditLogRecord> byId = new HashMap<>();
+        segmentLock.readLock().lock();
+        try {
+            for (YearMonth month : months) {
+                Path segment = segmentFor(month);
+                if (!Files.exists(segment)) {
+                    continue;
+                }
+                try (InputStream in = new GZIPInputStream(Files.newInputStream(segment));
+                     MappingIterator<AuditLogRecord> records =
+                             objectMapper.readerFor(AuditLogRecord.class).readValues(in)) {
+                    while (records.hasNext()) {
+                        AuditLogRecord record = records.next();
+                        if (filter.test(record)) {
+                            byId.putIfAbsent(record.id(), record);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit archive", e);
+        } finally {
+            segmentLock.readLock().unlock();
+        }
+
+        List<AuditLogRecord> records = new ArrayList<>(byId.values());
+        records.sort(Comparator.comparing(AuditLogRecord::timestamp).thenComparing(AuditLogRecord::id));
+        return records;
+    }
+
+    private void append(YearMonth month, List<AuditLogRecord> records) {
+        ObjectWriter writer = objectMapper.writerFor(AuditLogRecord.class);
+        try (FileOutputStream file = new FileOutputStream(segmentFor(month).toFile(), true)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(file);
+            BufferedWriter out = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+            for (AuditLogRecord record : records) {
+                out.write(writer.writeValueAsString(record));
+                out.newLine();
+            }
+            out.flush();
+            // Complete this gzip member and make it durable before the rows are deleted
+            gzip.finish();
+            file.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append audit segment for " + month, e);
+        }
+    }
+
+    private List<YearMonth> archivedMonths() {
+        List<YearMonth> months = new ArrayList<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(storageDir, "audit-*.jsonl.gz")) {
+            for (Path segment : segments) {
+                String name = segment.getFileName().toString();
+                months.add(YearMonth.parse(name.substring("audit-".length(), name.length() - ".jsonl.gz".length())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list audit archive", e);
+        }
+        Collections.sort(months);
+        return months;
+    }
+
+    private Path segmentFor(YearMonth month) {
+        return storageDir.resolve("audit-" + month + ".jsonl.gz");
+    }
+}
@@ -0,0 +1,34 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.AuditLogRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque keyset cursor for audit pages (newest first): the (timestamp, id) of the
+// last row on a page, URL-safe Base64 encoded so clients treat it as a token.
+record AuditCursor(LocalDateTime timestamp, Long id) {
+
+    static AuditCursor after(AuditLogRecord last) {
+        return new AuditCursor(last.timestamp(), last.id());
+    }
+
+    String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AuditCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new AuditCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
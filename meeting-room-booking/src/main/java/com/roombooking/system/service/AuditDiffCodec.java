@@ -0,0 +1,172 @@
+package com.roombooking.system.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Field-level encoding for audit values. Entities are flattened to their scalar
+// columns, with associations reduced to "<field>Id" so lazy proxies are never
+// initialized; updates store only the fields that changed. Encoded values carry
+// a prefix ("d:" plain JSON, "gz:" gzip + Base64) so legacy full-JSON snapshots
+// (no prefix) can still be read.
+@Component
+public class AuditDiffCodec {
+
+    private static final String DIFF_PREFIX = "d:";
+    private static final String GZIP_PREFIX = "gz:";
+
+    // Never written to the audit trail
+    private static final Set<String> EXCLUDED_FIELDS = Set.of("password");
+
+    private final ObjectMapper objectMapper;
+    private final PersistenceUnitUtil persistenceUnitUtil;
+    private final boolean compressionEnabled;
+    private final int compressionMinBytes;
+
+    private final Map<Class<?>, List<Field>> fieldsByClass = new ConcurrentHashMap<>();
+
+    public AuditDiffCodec(ObjectMapper objectMapper,
+                          EntityManagerFactory entityManagerFactory,
+                          @Value("${audit.compression.enabled:false}") boolean compressionEnabled,
+                          @Value("${audit.compression.min-bytes:512}") int compressionMinBytes) {
+        this.objectMapper = objectMapper;
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.compressionEnabled = compressionEnabled;
+        this.compressionMinBytes = compressionMinBytes;
+    }
+
+    // Scalar fields of an entity, in declaration order; maps are taken as already flattened
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> flatten(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>((Map<String, Object>) map);
+        }
+        Object entity = Hibernate.unproxy(value);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Field field : fieldsOf(entity.getClass())) {
+            Object fieldValue = read(field, entity);
+            // Keyed by the declared type, so an unset association is still "<field>Id"
+            if (isAssociation(field)) {
+                fields.put(field.getName() + "Id",
+                        fieldValue != null ? persistenceUnitUtil.getIdentifier(fieldValue) : null);
+            } else if (!Collection.class.isAssignableFrom(field.getType())) {
+                fields.put(field.getName(), fieldValue);
+            }
+        }
+        return fields;
+    }
+
+    // Entries of "after" whose value differs from "before"; removed keys map to null
+    public Map<String, Object> diff(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, Object> changed = new LinkedHashMap<>();
+        after.forEach((key, value) -> {
+            if (!before.containsKey(key) || !Objects.equals(before.get(key), value)) {
+                changed.put(key, value);
+            }
+        });
+        before.keySet().forEach(key -> {
+            if (!after.containsKey(key)) {
+                changed.put(key, null);
+            }
+        });
+        return changed;
+    }
+
+    public String encode(Map<String, Object> fields) {
+        try {
+            String json = objectMapper.writeValueAsString(fields);
+            if (compressionEnabled && json.length() >= compressionMinBytes) {
+                return GZIP_PREFIX + Base64.getEncoder().encodeToString(gzip(json));
+            }
+            return DIFF_PREFIX + json;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Decodes any stored audit value; legacy snapshots come back as their parsed JSON
+    public Map<String, Object> decode(String value) {
+        try {
+            String json;
+            if (value.startsWith(GZIP_PREFIX)) {
+                json = gunzip(Base64.getDecoder().decode(value.substring(GZIP_PREFIX.length())));
+            } else if (value.startsWith(DIFF_PREFIX)) {
+                json = value.substring(DIFF_PREFIX.length());
+            } else {
+                json = value;
+            }
+            return objectMapper.readValue(json, new TypeReference<LinkedHashMap<String, Object>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // True for values written by encode(), i.e. field-level diffs
+    public boolean isDiff(String value) {
+        return value.startsWith(DIFF_PREFIX) || value.startsWith(GZIP_PREFIX);
+    }
+
+    private List<Field> fieldsOf(Class<?> type) {
+        return fieldsByClass.computeIfAbsent(type, t -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                            || EXCLUDED_FIELDS.contains(field.getName())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            return fields;
+        });
+    }
+
+    private static Object read(Field field, Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot read audit field " + field.getName(), e);
+        }
+    }
+
+    private static boolean isAssociation(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)
+                || field.getType().isAnnotationPresent(Entity.class);
+    }
+
+    private static byte[] gzip(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
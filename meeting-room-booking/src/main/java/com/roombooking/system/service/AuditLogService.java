@@ -1,97 +1,259 @@
 package com.roombooking.system.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.roombooking.system.dto.AuditEntityState;
+import com.roombooking.system.dto.AuditLogCount;
+import com.roombooking.system.dto.AuditLogFilter;
+import com.roombooking.system.dto.AuditLogPage;
+import com.roombooking.system.dto.AuditLogRecord;
 import com.roombooking.system.enums.AuditAction;
+import com.roombooking.system.enums.BookingStatus;
 import com.roombooking.system.model.AuditLog;
 import com.roombooking.system.model.User;
 import com.roombooking.system.repository.AuditLogRepository;
-import lombok.RequiredArgsConstructor;
+import com.roombooking.system.service.AuditLogWriter.AuditEvent;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuditLogService {
 
+    private static final int MAX_RANGE_RESULTS = 10_000;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int COUNT_CAP = 10_000;
+
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditDiffCodec auditDiffCodec;
+    private final AuditArchiveService auditArchiveService;
+
+    // "diff" stores changed fields only (see AuditDiffCodec); "snapshot" keeps full JSON
+    private final boolean diffEncoding;
+
+    public AuditLogService(AuditLogRepository auditLogRepository,
+                           ObjectMapper objectMapper,
+                           AuditLogWriter auditLogWriter,
+                           AuditDiffCodec auditDiffCodec,
+                           AuditArchiveService auditArchiveService,
+                           @Value("${audit.encoding:diff}") String encoding) {
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.auditLogWriter = auditLogWriter;
+        this.auditDiffCodec = auditDiffCodec;
+        this.auditArchiveService = auditArchiveService;
+        this.diffEncoding = !"snapshot".equalsIgnoreCase(encoding);
+    }
 
-    @Async
-    @Transactional
+    // Encodes on the caller's thread, so the values reflect the entity at
+    // the time of the event, then hands off to the buffered writer
     public void log(User user, String entityType, Long entityId, AuditAction action, Object oldValue, Object newValue) {
         try {
-            log.info("Creating audit log: user={}, entity={}, action={}", 
+            log.debug("Creating audit log: user={}, entity={}, action={}",
                     user != null ? user.getUsername() : "SYSTEM", entityType, action);
 
-            AuditLog auditLog = new AuditLog();
-            auditLog.setUser(user);
-            auditLog.setEntityType(entityType);
-            auditLog.setEntityId(entityId);
-            auditLog.setAction(action);
-            
-            // Convert objects to JSON strings
-            if (oldValue != null) {
-                auditLog.setOldValue(objectMapper.writeValueAsString(oldValue));
-            }
-            if (newValue != null) {
-                auditLog.setNewValue(objectMapper.writeValueAsString(newValue));
+            String encodedOld;
+            String encodedNew;
+            if (diffEncoding) {
+                Map<String, Object> before = oldValue != null ? auditDiffCodec.flatten(oldValue) : Map.of();
+                Map<String, Object> after = newValue != null ? auditDiffCodec.flatten(newValue) : Map.of();
+                if (oldValue != null && newValue != null) {
+                    // Update: keep only changed fields, with their previous values alongside
+                    Map<String, Object> changed = auditDiffCodec.diff(before, after);
+                    Map<String, Object> previous = new LinkedHashMap<>();
+                    changed.keySet().forEach(key -> previous.put(key, before.get(key)));
+                    encodedOld = auditDiffCodec.encode(previous);
+                    encodedNew = auditDiffCodec.encode(changed);
+                } else {
+                    encodedOld = oldValue != null ? auditDiffCodec.encode(before) : null;
+                    encodedNew = newValue != null ? auditDiffCodec.encode(after) : null;
+                }
+            } else {
+                encodedOld = oldValue != null ? objectMapper.writeValueAsString(oldValue) : null;
+                encodedNew = newValue != null ? objectMapper.writeValueAsString(newValue) : null;
             }
-            
-            // You can add IP address tracking if needed
-            // auditLog.setIpAddress(getClientIP());
 
-            auditLogRepository.save(auditLog);
-            log.info("Audit log created successfully: id={}", auditLog.getId());
+            auditLogWriter.enqueue(new AuditEvent(
+                    user != null ? user.getId() : null,
+                    entityType,
+                    entityId,
+                    action,
+                    encodedOld,
+                    encodedNew,
+                    LocalDateTime.now()
+            ));
         } catch (Exception e) {
             log.error("Failed to create audit log: {}", e.getMessage(), e);
             // Don't throw exception - audit logging should never break the main flow
         }
     }
 
+    // Capture an entity's fields before mutating it, for a later logUpdate
+    public Map<String, Object> snapshot(Object entity) {
+        return auditDiffCodec.flatten(entity);
+    }
+
     // Simplified logging methods
-    @Async
     public void logCreate(User user, String entityType, Long entityId, Object entity) {
         log(user, entityType, entityId, AuditAction.CREATE, null, entity);
     }
 
-    @Async
     public void logUpdate(User user, String entityType, Long entityId, Object oldEntity, Object newEntity) {
         log(user, entityType, entityId, AuditAction.UPDATE, oldEntity, newEntity);
     }
 
-    @Async
     public void logDelete(User user, String entityType, Long entityId, Object entity) {
         log(user, entityType, entityId, AuditAction.DELETE, entity, null);
     }
 
-    @Async
     public void logApprove(User user, String entityType, Long entityId) {
         log(user, entityType, entityId, AuditAction.APPROVE, null, null);
     }
 
-    @Async
     public void logReject(User user, String entityType, Long entityId) {
         log(user, entityType, entityId, AuditAction.REJECT, null, null);
     }
 
-    @Async
     public void logCancel(User user, String entityType, Long entityId) {
         log(user, entityType, entityId, AuditAction.CANCEL, null, null);
     }
 
+    // Bulk variant for batch operations
+    public void logAll(User user, String entityType, List<Long> entityIds, AuditAction action) {
+        log.debug("Creating {} audit logs: user={}, entity={}, action={}", entityIds.size(),
+                user != null ? user.getUsername() : "SYSTEM", entityType, action);
+
+        Long userId = user != null ? user.getId() : null;
+        LocalDateTime now = LocalDateTime.now();
+        for (Long entityId : entityIds) {
+            auditLogWriter.enqueue(new AuditEvent(userId, entityType, entityId, action, null, null, now));
+        }
+    }
+
+    // Write audit rows in [start, end] with id > afterId as newline-delimited JSON:
+    // archived months first, then the database through a forward-only cursor.
+    // Rows go out in id order, so an interrupted export resumes from the last id received.
+    @Transactional(readOnly = true)
+    public void writeExport(LocalDateTime start, LocalDateTime end, long afterId, OutputStream out) throws IOException {
+        log.info("Exporting audit logs from {} to {} after id {}", start, end, afterId);
+
+        ObjectWriter writer = objectMapper.writerFor(AuditLogRecord.class);
+        Consumer<AuditLogRecord> emit = record -> {
+            try {
+                // writeValue(OutputStream) would close the response stream after one row
+                out.write(writer.writeValueAsBytes(record));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            long lastId = afterId;
+            if (start.isBefore(auditArchiveService.getCutoff())) {
+                lastId = auditArchiveService.forEachInRange(start, end, afterId, emit);
+            }
+            try (Stream<AuditLogRecord> rows = auditLogRepository.streamRecords(start, end, lastId)) {
+                rows.forEach(emit);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    // Rebuild an entity's fields as of a point in time by replaying its audit trail.
+    // Creates and legacy snapshots reset the state, diffs are applied on top, and
+    // approve/reject/cancel events imply the matching booking status.
+    public AuditEntityState rebuildState(String entityType, Long entityId, LocalDateTime asOf) {
+        List<AuditLogRecord> logs = new ArrayList<>(auditArchiveService.readEntity(entityType, entityId, asOf));
+        logs.addAll(auditLogRepository.findRecordsForEntity(entityType, entityId, asOf));
+        if (logs.isEmpty()) {
+            throw new RuntimeException("No audit history for " + entityType + " " + entityId);
+        }
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        boolean deleted = false;
+        for (AuditLogRecord auditLog : logs) {
+            String value = auditLog.newValue();
+            switch (auditLog.action()) {
+                case CREATE -> {
+                    state.clear();
+                    if (value != null) {
+                        state.putAll(auditDiffCodec.decode(value));
+                    }
+                    deleted = false;
+                }
+                case UPDATE -> {
+                    if (value != null && !auditDiffCodec.isDiff(value)) {
+                        state.clear();
+                    }
+                    if (value != null) {
+                        state.putAll(auditDiffCodec.decode(value));
+                    }
+                }
+                case DELETE -> deleted = true;
+                case APPROVE -> state.put("status", BookingStatus.APPROVED.name());
+                case REJECT -> state.put("status", BookingStatus.REJECTED.name());
+                case CANCEL -> state.put("status", BookingStatus.CANCELLED.name());
+            }
+        }
+        return new AuditEntityState(entityType, entityId, asOf, state, deleted, logs.size());
+    }
+
     // Retrieve audit logs
-    public List<AuditLog> getRecentLogs(int limit) {
-        return auditLogRepository.findTop50ByOrderByTimestampDesc();
+    public List<AuditLogRecord> getRecentLogs(int limit) {
+        return auditLogRepository.findRecordPage(new AuditLogFilter(null, null, null, null, null, null),
+                null, null, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    }
+
+    // One page of logs matching the filter, newest first, continuing after the given cursor
+    public AuditLogPage getLogsPage(AuditLogFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        AuditCursor before = cursor == null || cursor.isBlank() ? null : AuditCursor.decode(cursor);
+        validate(filter);
+
+        // Fetch one extra row to learn whether another page exists
+        List<AuditLogRecord> rows = auditLogRepository.findRecordPage(filter,
+                before != null ? before.timestamp() : null,
+                before != null ? before.id() : null,
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = AuditCursor.after(rows.get(pageSize - 1)).encode();
+        }
+        return new AuditLogPage(rows, rows.size(), nextCursor);
+    }
+
+    // Number of logs matching the filter, counted up to 10000; beyond that it is a lower bound
+    public AuditLogCount estimateCount(AuditLogFilter filter) {
+        validate(filter);
+        int matched = (int) auditLogRepository.countMatching(filter, COUNT_CAP + 1);
+        return matched > COUNT_CAP ? new AuditLogCount(COUNT_CAP, false) : new AuditLogCount(matched, true);
     }
 
     public List<AuditLog> getLogsByEntityType(String entityType) {
-        return auditLogRepository.findByEntityType(entityType);
+        return auditLogRepository.findTop500ByEntityTypeOrderByTimestampDesc(entityType);
     }
 
     public List<AuditLog> getLogsByEntity(String entityType, Long entityId) {
@@ -102,7 +264,34 @@ public class AuditLogService {
         return auditLogRepository.findByUser(user);
     }
 
-    public List<AuditLog> getLogsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return auditLogRepository.findByTimestampBetween(start, end);
+    // Archived months are read from segment files, the rest from the database;
+    // at most `limit` rows (capped at 10000), oldest first
+    public List<AuditLogRecord> getLogsByDateRange(LocalDateTime start, LocalDateTime end, int limit) {
+        if (start.isAfter(end)) {
+            throw new RuntimeException("Start cannot be after end");
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_RANGE_RESULTS);
+
+        // Archived rows are older than anything in the database, so they come first
+        // and the database only fills what is left of the limit
+        Map<Long, AuditLogRecord> byId = new LinkedHashMap<>();
+        if (start.isBefore(auditArchiveService.getCutoff())) {
+            auditArchiveService.readRange(start, end, max).forEach(r -> byId.putIfAbsent(r.id(), r));
+        }
+        if (byId.size() < max) {
+            // Keyed by id: a row can briefly exist in both places if archiving was interrupted
+            auditLogRepository.findRecordsBetween(start, end, Limit.of(max - byId.size()))
+                    .forEach(r -> byId.putIfAbsent(r.id(), r));
+        }
+
+        List<AuditLogRecord> records = new ArrayList<>(byId.values());
+        records.sort(Comparator.comparing(AuditLogRecord::timestamp).thenComparing(AuditLogRecord::id));
+        return records;
+    }
+
+    private void validate(AuditLogFilter filter) {
+        if (filter.start() != null && filter.end() != null && filter.start().isAfter(filter.end())) {
+            throw new RuntimeException("Start cannot be after end");
+        }
     }
-}
\ No newline at end of file
+}
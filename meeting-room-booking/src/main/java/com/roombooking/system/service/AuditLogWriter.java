@@ -0,0 +1,170 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.AuditAction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Buffered audit pipeline. Callers enqueue into a bounded lock-free queue and
+// return immediately; one writer thread drains it into JDBC batch inserts once
+// a batch fills up or the flush interval passes. When the buffer is full the
+// event is dropped and counted rather than blocking the request.
+@Component
+@Slf4j
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(user_id, entity_type, entity_id, action, old_value, new_value, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final Queue<AuditEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropCount = new AtomicLong();
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.buffer.capacity:8192}") int capacity,
+                          @Value("${audit.batch.size:200}") int batchSize,
+                          @Value("${audit.flush-interval-ms:500}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        this.enqueued = meterRegistry.counter("audit.events.enqueued");
+        this.dropped = meterRegistry.counter("audit.events.dropped");
+        this.written = meterRegistry.counter("audit.events.written");
+        this.failed = meterRegistry.counter("audit.events.failed");
+        Gauge.builder("audit.buffer.size", size, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("audit.buffer.capacity", () -> this.capacity).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "Audit-Writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Flush whatever is still buffered before the DataSource goes away
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        flushAll();
+    }
+
+    // Returns false if the event was dropped because the buffer is full
+    public boolean enqueue(AuditEvent event) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                dropped.increment();
+                if (dropCount.getAndIncrement() % 1000 == 0) {
+                    log.warn("Audit buffer full ({} events), {} events dropped so far", capacity, dropCount.get());
+                }
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        buffer.offer(event);
+        enqueued.increment();
+        if (current + 1 >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (size.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flushAll();
+        }
+    }
+
+    private synchronized void flushAll() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        AuditEvent event;
+        while ((event = buffer.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(event);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+                if (e.userId() != null) {
+                    ps.setLong(1, e.userId());
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setString(2, e.entityType());
+                ps.setLong(3, e.entityId());
+                ps.setString(4, e.action().name());
+                ps.setString(5, e.oldValue());
+                ps.setString(6, e.newValue());
+                ps.setTimestamp(7, Timestamp.valueOf(e.timestamp()));
+            });
+            written.increment(batch.size());
+            log.debug("Wrote {} audit logs", batch.size());
+        } catch (RuntimeException ex) {
+            // Audit logging must never break the main flow; count and move on
+            failed.increment(batch.size());
+            log.error("Failed to write {} audit logs: {}", batch.size(), ex.getMessage(), ex);
+        }
+    }
+
+    public record AuditEvent(
+            Long userId,
+            String entityType,
+            Long entityId,
+            AuditAction action,
+            String oldValue,
+            String newValue,
+            LocalDateTime timestamp
+    ) {}
+}
@@ -0,0 +1,252 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.AnalyticsSummary;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.RoomRepository;
+import com.roombooking.system.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Incrementally maintained booking counters for the admin dashboard.
+// Updated after commit on every booking state change and reconciled against
+// the database periodically, so reading the summary never scans bookings.
+// A reconcile reads one snapshot and replays the changes committed while it was
+// reading, so it neither mixes points in time nor drops concurrent updates.
+@Component
+@Slf4j
+public class BookingAnalyticsStore {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Map<BookingStatus, Long> byStatus = new EnumMap<>(BookingStatus.class);
+    private final Map<Long, Long> byRoom = new HashMap<>();
+    private final Map<Long, String> roomNames = new HashMap<>();
+    private final long[] byStartHour = new long[24];
+    private long activeRooms;
+    private long activeUsers;
+
+    // Rebuilt lazily after any change; reads in between are a field load
+    private volatile AnalyticsSummary cachedSummary;
+
+    // Changes applied since the running reconcile began, null when none is running
+    private List<Runnable> sinceSnapshot;
+
+    public BookingAnalyticsStore(BookingRepository bookingRepository,
+                                 RoomRepository roomRepository,
+                                 UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+
+        // Repeatable read keeps all the reconcile queries on one snapshot
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setReadOnly(true);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${analytics.reconcile-interval-ms:600000}",
+               initialDelayString = "${analytics.reconcile-initial-delay-ms:600000}")
+    public void reconcile() {
+        synchronized (this) {
+            if (sinceSnapshot != null) {
+                log.debug("Analytics reconcile already running, skipping");
+                return;
+            }
+            sinceSnapshot = new ArrayList<>();
+        }
+
+        Snapshot snapshot;
+        try {
+            snapshot = snapshotTransaction.execute(status -> readSnapshot());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                sinceSnapshot = null;
+            }
+            throw e;
+        }
+
+        int replayed;
+        synchronized (this) {
+            byStatus.clear();
+            byStatus.putAll(snapshot.statusCounts());
+            byRoom.clear();
+            byRoom.putAll(snapshot.roomCounts());
+            roomNames.clear();
+            roomNames.putAll(snapshot.roomNames());
+            System.arraycopy(snapshot.hourCounts(), 0, byStartHour, 0, 24);
+            activeRooms = snapshot.activeRooms();
+            activeUsers = snapshot.activeUsers();
+            // A change committed just before the snapshot may be counted twice;
+            // the next reconcile corrects that, where dropping it would persist
+            replayed = sinceSnapshot.size();
+            sinceSnapshot.forEach(Runnable::run);
+            sinceSnapshot = null;
+            cachedSummary = null;
+        }
+        log.info("Analytics counters reconciled: {} bookings across {} rooms, {} concurrent changes replayed",
+                snapshot.statusCounts().values().stream().mapToLong(Long::longValue).sum(),
+                snapshot.roomCounts().size(), replayed);
+    }
+
+    private Snapshot readSnapshot() {
+        Map<BookingStatus, Long> statusCounts = new EnumMap<>(BookingStatus.class);
+        for (Object[] row : bookingRepository.countGroupedByStatus()) {
+            statusCounts.put((BookingStatus) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<Long, Long> roomCounts = new HashMap<>();
+        for (Object[] row : bookingRepository.countGroupedByRoom()) {
+            roomCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        long[] hourCounts = new long[24];
+        for (Object[] row : bookingRepository.countGroupedByStartHour()) {
+            hourCounts[((Number) row[0]).intValue()] = ((Number) row[1]).longValue();
+        }
+
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : roomRepository.findAllIdAndName()) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+
+        return new Snapshot(statusCounts, roomCounts, names, hourCounts,
+                roomRepository.countByIsActiveTrue(), userRepository.countByIsActiveTrue());
+    }
+
+    public AnalyticsSummary getSummary() {
+        AnalyticsSummary summary = cachedSummary;
+        if (summary == null) {
+            synchronized (this) {
+                summary = cachedSummary;
+                if (summary == null) {
+                    summary = buildSummary();
+                    cachedSummary = summary;
+                }
+            }
+        }
+        return summary;
+    }
+
+    public void bookingCreated(Booking booking) {
+        Long roomId = booking.getRoom().getId();
+        String roomName = booking.getRoom().getName();
+        int hour = booking.getStartTime().getHour();
+        BookingStatus status = booking.getStatus();
+        afterCommit(() -> {
+            byStatus.merge(status, 1L, Long::sum);
+            byRoom.merge(roomId, 1L, Long::sum);
+            roomNames.putIfAbsent(roomId, roomName);
+            byStartHour[hour]++;
+        });
+    }
+
+    public void bookingStatusChanged(BookingStatus from, BookingStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            byStatus.merge(from, -1L, Long::sum);
+            byStatus.merge(to, 1L, Long::sum);
+        });
+    }
+
+    public void roomActivated(Room room) {
+        Long roomId = room.getId();
+        String roomName = room.getName();
+        afterCommit(() -> {
+            activeRooms++;
+            roomNames.put(roomId, roomName);
+        });
+    }
+
+    public void roomRenamed(Room room) {
+        Long roomId = room.getId();
+        String roomName = room.getName();
+        afterCommit(() -> roomNames.put(roomId, roomName));
+    }
+
+    public void roomDeactivated() {
+        afterCommit(() -> activeRooms--);
+    }
+
+    public void userRegistered() {
+        afterCommit(() -> activeUsers++);
+    }
+
+    // Applies a counter change once the surrounding transaction commits, and keeps
+    // it for replay if a reconcile is reading its snapshot meanwhile
+    private void afterCommit(Runnable change) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                change.run();
+                if (sinceSnapshot != null) {
+                    sinceSnapshot.add(change);
+                }
+                cachedSummary = null;
+            }
+        });
+    }
+
+    private AnalyticsSummary buildSummary() {
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+
+        // Find most booked room
+        String mostBookedRoom = "N/A";
+        long best = 0;
+        for (Map.Entry<Long, Long> entry : byRoom.entrySet()) {
+            if (entry.getValue() > best) {
+                best = entry.getValue();
+                mostBookedRoom = roomNames.getOrDefault(entry.getKey(), "N/A");
+            }
+        }
+
+        // Find peak booking time
+        String peakTime = "N/A";
+        long peak = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            if (byStartHour[hour] > peak) {
+                peak = byStartHour[hour];
+                peakTime = hour + ":00";
+            }
+        }
+
+        return new AnalyticsSummary(
+                (int) total,
+                (int) count(BookingStatus.PENDING),
+                (int) count(BookingStatus.APPROVED),
+                (int) count(BookingStatus.REJECTED),
+                (int) count(BookingStatus.CANCELLED),
+                (int) activeRooms,
+                (int) activeUsers,
+                mostBookedRoom,
+                peakTime
+        );
+    }
+
+    private long count(BookingStatus status) {
+        return byStatus.getOrDefault(status, 0L);
+    }
+
+    private record Snapshot(Map<BookingStatus, Long> statusCounts, Map<Long, Long> roomCounts,
+                            Map<Long, String> roomNames, long[] hourCounts, long activeRooms, long activeUsers) {}
+}
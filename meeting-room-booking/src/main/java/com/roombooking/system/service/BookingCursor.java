@@ -0,0 +1,35 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+
+// Opaque keyset cursor for booking lists: the (bookingDate, startTime, id) of the
+// last row on a page, URL-safe Base64 encoded so clients treat it as a token.
+record BookingCursor(LocalDate bookingDate, LocalTime startTime, Long id) {
+
+    static BookingCursor after(BookingResponse last) {
+        return new BookingCursor(last.bookingDate(), last.startTime(), last.id());
+    }
+
+    String encode() {
+        String raw = bookingDate + "|" + startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BookingCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new BookingCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingSlot;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory index of APPROVED booking intervals, keyed by room and date.
+// Used as a fast pre-check before hitting the database; the JPQL conflict
+// query remains the authoritative guard wherever a booking is approved.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex {
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<RoomDay, Slots> index = new ConcurrentHashMap<>();
+
+    // Dates before this are not indexed and must be checked against the DB
+    private volatile LocalDate indexedFrom;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDate from = LocalDate.now();
+        List<BookingSlot> slots = bookingRepository.findApprovedSlotsFrom(from);
+
+        index.clear();
+        for (BookingSlot slot : slots) {
+            put(slot.bookingId(), slot.roomId(), slot.bookingDate(), slot.startTime(), slot.endTime());
+        }
+        indexedFrom = from;
+        log.info("Booking interval index loaded with {} approved bookings from {}", slots.size(), from);
+    }
+
+    // Returns true if the index covers this date and can answer without the DB
+    public boolean covers(LocalDate date) {
+        LocalDate from = indexedFrom;
+        return from != null && !date.isBefore(from);
+    }
+
+    public boolean hasConflict(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Slots slots = index.get(new RoomDay(roomId, date));
+        return slots != null && slots.overlaps(toMinutes(startTime), toMinutes(endTime));
+    }
+
+    // Record an approved booking; applied after commit when called inside a transaction
+    public void add(Booking booking) {
+        Long id = booking.getId();
+        Long roomId = booking.getRoom().getId();
+        LocalDate date = booking.getBookingDate();
+        LocalTime start = booking.getStartTime();
+        LocalTime end = booking.getEndTime();
+        TransactionCallbacks.afterCommit(() -> put(id, roomId, date, start, end));
+    }
+
+    // Drop a booking that is no longer approved (cancelled/rejected)
+    public void remove(Booking booking) {
+        Long id = booking.getId();
+        RoomDay key = new RoomDay(booking.getRoom().getId(), booking.getBookingDate());
+        TransactionCallbacks.afterCommit(() -> index.computeIfPresent(key, (k, slots) -> slots.without(id)));
+    }
+
+    // Past dates can never conflict with new bookings, so evict them nightly
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        index.keySet().removeIf(key -> key.date().isBefore(today));
+        indexedFrom = today;
+    }
+
+    private void put(Long id, Long roomId, LocalDate date, LocalTime start, LocalTime end) {
+        index.compute(new RoomDay(roomId, date), (k, slots) ->
+                (slots == null ? Slots.EMPTY : slots).with(id, toMinutes(start), toMinutes(end)));
+    }
+
+    private static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record RoomDay(Long roomId, LocalDate date) {}
+
+    // Immutable sorted-by-start arrays with a running max of end times, so an
+    // overlap check is a single binary search even if legacy rows overlap.
+    private static final class Slots {
+
+        static final Slots EMPTY = new Slots(new long[0], new int[0], new int[0], new int[0]);
+
+        final long[] ids;
+        final int[] starts;
+        final int[] ends;
+        final int[] maxEnds;
+
+        Slots(long[] ids, int[] starts, int[] ends, int[] maxEnds) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+        }
+
+        boolean overlaps(int start, int end) {
+            // Last interval starting before the requested end
+            int lo = 0, hi = starts.length - 1, last = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < end) {
+                    last = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return last >= 0 && maxEnds[last] > start;
+        }
+
+        Slots with(long id, int start, int end) {
+            Slots base = without(id);
+            if (base == null) {
+                base = EMPTY;
+            }
+            int n = base.ids.length;
+            int pos = 0;
+            while (pos < n && base.starts[pos] <= start) {
+                pos++;
+            }
+
+            long[] newIds = new long[n + 1];
+            int[] newStarts = new int[n + 1];
+            int[] newEnds = new int[n + 1];
+            System.arraycopy(base.ids, 0, newIds, 0, pos);
+            System.arraycopy(base.starts, 0, newStarts, 0, pos);
+            System.arraycopy(base.ends, 0, newEnds, 0, pos);
+            newIds[pos] = id;
+            newStarts[pos] = start;
+            newEnds[pos] = end;
+            System.arraycopy(base.ids, pos, newIds, pos + 1, n - pos);
+            System.arraycopy(base.starts, pos, newStarts, pos + 1, n - pos);
+            System.arraycopy(base.ends, pos, newEnds, pos + 1, n - pos);
+            return of(newIds, newStarts, newEnds);
+        }
+
+        Slots without(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    int n = ids.length - 1;
+                    long[] newIds = new long[n];
+                    int[] newStarts = new int[n];
+                    int[] newEnds = new int[n];
+                    System.arraycopy(ids, 0, newIds, 0, i);
+                    System.arraycopy(starts, 0, newStarts, 0, i);
+                    System.arraycopy(ends, 0, newEnds, 0, i);
+                    System.arraycopy(ids, i + 1, newIds, i, n - i);
+                    System.arraycopy(starts, i + 1, newStarts, i, n - i);
+                    System.arraycopy(ends, i + 1, newEnds, i, n - i);
+                    return n == 0 ? null : of(newIds, newStarts, newEnds);
+                }
+            }
+            return this;
+        }
+
+        private static Slots of(long[] ids, int[] starts, int[] ends) {
+            int[] maxEnds = Arrays.copyOf(ends, ends.length);
+            for (int i = 1; i < maxEnds.length; i++) {
+                maxEnds[i] = Math.max(maxEnds[i], maxEnds[i - 1]);
+            }
+            return new Slots(ids, starts, ends, maxEnds);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.roombooking.system.service;
 
 import com.roombooking.system.dto.ApprovalRequest;
+import com.roombooking.system.dto.BatchApprovalResult;
+import com.roombooking.system.dto.BookingFilter;
+import com.roombooking.system.dto.BookingPage;
 import com.roombooking.system.dto.BookingRequest;
 import com.roombooking.system.dto.BookingResponse;
+import com.roombooking.system.dto.BookingSlot;
+import com.roombooking.system.enums.AuditAction;
 import com.roombooking.system.enums.BookingStatus;
 import com.roombooking.system.enums.UserRole;
 import com.roombooking.system.model.Booking;
@@ -14,8 +19,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,11 +42,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final BookingRepository bookingRepository;
     private final RoomService roomService;
     private final UserService userService;
     private final EmailService emailService;
     private final AuditLogService auditLogService;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final RoomDayLocks roomDayLocks;
+    private final BookingAnalyticsStore bookingAnalyticsStore;
+    private final RoomUtilizationService roomUtilizationService;
+    private final MeetingReminderScheduler meetingReminderScheduler;
+
     @Transactional
     public BookingResponse createBooking(BookingRequest request) {
         log.info("Creating booking for room ID: {} by user ID: {}", request.roomId(), request.userId());
@@ -42,14 +70,8 @@ public class BookingService {
         User user = userService.getUserById(request.userId());
 
         // Check for conflicts with APPROVED bookings only
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                request.roomId(),
-                request.bookingDate(),
-                request.startTime(),
-                request.endTime()
-        );
-
-        if (!conflicts.isEmpty()) {
+        if (hasApprovedConflict(request.roomId(), request.bookingDate(),
+                request.startTime(), request.endTime())) {
             throw new RuntimeException("Room is already booked for this time slot");
         }
 
@@ -67,17 +89,16 @@ public class BookingService {
 
         Booking savedBooking = bookingRepository.save(booking);
         log.info("Booking created with ID: {} and status: PENDING", savedBooking.getId());
+        bookingAnalyticsStore.bookingCreated(savedBooking);
+        roomUtilizationService.invalidate(savedBooking);
         auditLogService.logCreate(user, "BOOKING", savedBooking.getId(), savedBooking);
         // ---------------- EMAIL EVENTS ----------------
 
         // 1. Send email to user (confirmation of submission)
         emailService.sendBookingConfirmationEmail(savedBooking);
 
-//        // 2. Notify admin(s): You must fetch emails of admins here
-//        List<User> admins = userService.getAdmins();
-//        admins.forEach(admin ->
-//                emailService.sendBookingRequestEmail(savedBooking, admin.getEmail())
-//        );
+        // 2. Notify admin(s); only sent when booking-request is in mail.digest.templates, so they coalesce
+        emailService.sendBookingRequestEmails(savedBooking, userService.getAdmins());
 
         return mapToResponse(savedBooking);
     }
@@ -99,7 +120,16 @@ public class BookingService {
         }
 
         if (request.approve()) {
-            // Check conflicts again before approving
+            // Serialize approvals for the same room and day until this transaction commits
+            roomDayLocks.lockUntilTransactionEnds(booking.getRoom().getId(), booking.getBookingDate());
+
+            // Fast reject from the in-memory index, then re-check the DB as the final guard
+            if (bookingIntervalIndex.covers(booking.getBookingDate())
+                    && bookingIntervalIndex.hasConflict(booking.getRoom().getId(), booking.getBookingDate(),
+                            booking.getStartTime(), booking.getEndTime())) {
+                throw new RuntimeException("Room has been booked by another approved booking");
+            }
+
             List<Booking> conflicts = bookingRepository.findConflictingBookings(
                     booking.getRoom().getId(),
                     booking.getBookingDate(),
@@ -112,6 +142,8 @@ public class BookingService {
         }
 
         booking.setStatus(BookingStatus.APPROVED);
+        bookingIntervalIndex.add(booking);
+        meetingReminderScheduler.schedule(booking);
         log.info("Booking ID: {} APPROVED by admin ID: {}", request.bookingId(), request.adminId());
         
         // AUDIT LOG - Approve action
@@ -124,12 +156,14 @@ public class BookingService {
         auditLogService.logReject(admin, "BOOKING", request.bookingId());
     }
 
+    bookingAnalyticsStore.bookingStatusChanged(BookingStatus.PENDING, booking.getStatus());
+    roomUtilizationService.invalidate(booking);
     booking.setApprovedBy(admin);
     booking.setApprovedAt(LocalDateTime.now());
 
     Booking updatedBooking = bookingRepository.save(booking);
     
-    // Send email notification
+    // Queue email notification (sent once this transaction commits)
     if (request.approve()) {
         emailService.sendBookingApprovedEmail(updatedBooking);
     } else {
@@ -139,6 +173,207 @@ public class BookingService {
     return mapToResponse(updatedBooking);
 }
 
+    // Approve/reject many bookings in one transaction. Candidates for the same
+    // room and day are resolved against each other with a single sweep, so one
+    // bad item never fails the whole batch.
+    @Transactional
+    public List<BatchApprovalResult> approveBookings(List<ApprovalRequest> requests) {
+        log.info("Processing batch approval for {} bookings", requests.size());
+
+        Set<Long> bookingIds = requests.stream()
+                .map(ApprovalRequest::bookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllWithRoomAndUserByIdIn(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Map<Long, User> admins = new HashMap<>();
+        BatchApprovalResult[] results = new BatchApprovalResult[requests.size()];
+        Map<Long, User> toApprove = new LinkedHashMap<>(); // bookingId -> deciding admin
+        Map<Long, User> toReject = new LinkedHashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ApprovalRequest request = requests.get(i);
+            if (request.bookingId() == null || request.adminId() == null || request.approve() == null) {
+                results[i] = failure(request.bookingId(), null, "Booking ID, admin ID and approval status are required");
+                continue;
+            }
+
+            Booking booking = bookings.get(request.bookingId());
+            if (booking == null) {
+                results[i] = failure(request.bookingId(), null, "Booking not found");
+                continue;
+            }
+            if (!seen.add(booking.getId())) {
+                results[i] = failure(booking.getId(), null, "Booking appears more than once in batch");
+                continue;
+            }
+            if (booking.getStatus() != BookingStatus.PENDING) {
+                results[i] = failure(booking.getId(), booking.getStatus(), "Only PENDING bookings can be approved/rejected");
+                continue;
+            }
+
+            User admin = admins.computeIfAbsent(request.adminId(), this::findUserOrNull);
+            if (admin == null || admin.getRole() != UserRole.ADMIN) {
+                results[i] = failure(booking.getId(), booking.getStatus(), "Only admins can approve/reject bookings");
+                continue;
+            }
+
+            (request.approve() ? toApprove : toReject).put(booking.getId(), admin);
+        }
+
+        Set<Long> accepted = resolveBatchConflicts(toApprove.keySet().stream().map(bookings::get).toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> decided = new ArrayList<>();
+
+        for (Map.Entry<Long, User> entry : toApprove.entrySet()) {
+            Booking booking = bookings.get(entry.getKey());
+            if (accepted.contains(booking.getId())) {
+                booking.setStatus(BookingStatus.APPROVED);
+                booking.setApprovedBy(entry.getValue());
+                booking.setApprovedAt(now);
+                bookingIntervalIndex.add(booking);
+                meetingReminderScheduler.schedule(booking);
+                bookingAnalyticsStore.bookingStatusChanged(BookingStatus.PENDING, BookingStatus.APPROVED);
+                roomUtilizationService.invalidate(booking);
+                decided.add(booking);
+            }
+        }
+        for (Map.Entry<Long, User> entry : toReject.entrySet()) {
+            Booking booking = bookings.get(entry.getKey());
+            booking.setStatus(BookingStatus.REJECTED);
+            booking.setApprovedBy(entry.getValue());
+            booking.setApprovedAt(now);
+            bookingAnalyticsStore.bookingStatusChanged(BookingStatus.PENDING, BookingStatus.REJECTED);
+            roomUtilizationService.invalidate(booking);
+            decided.add(booking);
+        }
+
+        // Flushed as batched UPDATEs (hibernate.jdbc.batch_size)
+        bookingRepository.saveAll(decided);
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Booking booking = bookings.get(requests.get(i).bookingId());
+            if (booking.getStatus() == BookingStatus.PENDING) {
+                results[i] = failure(booking.getId(), booking.getStatus(), "Room has been booked by another approved booking");
+            } else {
+                results[i] = new BatchApprovalResult(booking.getId(), true, booking.getStatus(),
+                        booking.getStatus() == BookingStatus.APPROVED ? "Booking approved" : "Booking rejected");
+            }
+        }
+
+        // Hand off audit and email work in bulk, one call per admin/action
+        decided.stream()
+                .collect(Collectors.groupingBy(b -> b.getApprovedBy().getId(),
+                        Collectors.groupingBy(Booking::getStatus,
+                                Collectors.mapping(Booking::getId, Collectors.toList()))))
+                .forEach((adminId, byStatus) -> byStatus.forEach((status, ids) ->
+                        auditLogService.logAll(admins.get(adminId), "BOOKING", ids,
+                                status == BookingStatus.APPROVED ? AuditAction.APPROVE : AuditAction.REJECT)));
+        emailService.sendBookingDecisionEmails(decided);
+
+        log.info("Batch approval complete: {} approved, {} rejected, {} failed", accepted.size(), toReject.size(),
+                requests.size() - decided.size());
+        return Arrays.asList(results);
+    }
+
+    // Returns the ids of approval candidates that can be approved without overlap.
+    // Per (room, date): existing approved intervals are merged into disjoint blocks,
+    // then candidates are swept in end-time order (earliest-finish-first), which
+    // approves the largest conflict-free subset of the batch.
+    private Set<Long> resolveBatchConflicts(Collection<Booking> candidates) {
+        Set<Long> accepted = new HashSet<>();
+        if (candidates.isEmpty()) {
+            return accepted;
+        }
+
+        // Hold the room/day locks until commit, like single approvals do
+        roomDayLocks.lockAllUntilTransactionEnds(candidates);
+
+        Set<Long> roomIds = new HashSet<>();
+        LocalDate minDate = null;
+        LocalDate maxDate = null;
+        for (Booking booking : candidates) {
+            roomIds.add(booking.getRoom().getId());
+            LocalDate date = booking.getBookingDate();
+            minDate = minDate == null || date.isBefore(minDate) ? date : minDate;
+            maxDate = maxDate == null || date.isAfter(maxDate) ? date : maxDate;
+        }
+
+        Map<String, List<BookingSlot>> approvedByRoomDay = bookingRepository
+                .findApprovedSlotsForRooms(roomIds, minDate, maxDate).stream()
+                .collect(Collectors.groupingBy(slot -> slot.roomId() + "|" + slot.bookingDate()));
+        Map<String, List<Booking>> candidatesByRoomDay = candidates.stream()
+                .collect(Collectors.groupingBy(b -> b.getRoom().getId() + "|" + b.getBookingDate()));
+
+        candidatesByRoomDay.forEach((key, group) -> {
+            List<LocalTime[]> blocks = mergeIntervals(approvedByRoomDay.getOrDefault(key, List.of()));
+
+            group.sort(Comparator.comparing(Booking::getEndTime)
+                    .thenComparing(Booking::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
+            LocalTime lastAcceptedEnd = LocalTime.MIN;
+            for (Booking booking : group) {
+                if (booking.getStartTime().isBefore(lastAcceptedEnd)
+                        || overlapsAny(blocks, booking.getStartTime(), booking.getEndTime())) {
+                    continue;
+                }
+                accepted.add(booking.getId());
+                lastAcceptedEnd = booking.getEndTime();
+            }
+        });
+        return accepted;
+    }
+
+    // Sweep sorted intervals into disjoint [start, end) blocks
+    private List<LocalTime[]> mergeIntervals(List<BookingSlot> slots) {
+        List<BookingSlot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparing(BookingSlot::startTime));
+
+        List<LocalTime[]> blocks = new ArrayList<>();
+        for (BookingSlot slot : sorted) {
+            LocalTime[] last = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (last != null && !slot.startTime().isAfter(last[1])) {
+                if (slot.endTime().isAfter(last[1])) {
+                    last[1] = slot.endTime();
+                }
+            } else {
+                blocks.add(new LocalTime[]{slot.startTime(), slot.endTime()});
+            }
+        }
+        return blocks;
+    }
+
+    // Binary search for the last block starting before end, then check it reaches past start
+    private boolean overlapsAny(List<LocalTime[]> blocks, LocalTime start, LocalTime end) {
+        int lo = 0, hi = blocks.size() - 1, last = -1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (blocks.get(mid)[0].isBefore(end)) {
+                last = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return last >= 0 && blocks.get(last)[1].isAfter(start);
+    }
+
+    private User findUserOrNull(Long userId) {
+        try {
+            return userService.getUserById(userId);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private BatchApprovalResult failure(Long bookingId, BookingStatus status, String message) {
+        return new BatchApprovalResult(bookingId, false, status, message);
+    }
+
     @Transactional
     public void cancelBooking(Long bookingId, Long userId) {
         log.info("Cancelling booking ID: {} by user ID: {}", bookingId, userId);
@@ -152,6 +387,12 @@ public class BookingService {
             throw new RuntimeException("You can only cancel your own bookings");
         }
 
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            bookingIntervalIndex.remove(booking);
+            meetingReminderScheduler.cancel(booking);
+        }
+        bookingAnalyticsStore.bookingStatusChanged(booking.getStatus(), BookingStatus.CANCELLED);
+        roomUtilizationService.invalidate(booking);
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
         
@@ -160,33 +401,64 @@ public class BookingService {
         log.info("Booking cancelled: {}", bookingId);
     }
 
-    public List<BookingResponse> getMyBookings(Long userId) {
-        log.info("Fetching bookings for user ID: {}", userId);
-        User user = userService.getUserById(userId);
-        return bookingRepository.findByUser(user).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    // Totals per status over all of the user's bookings, zero for unused statuses
+    public Map<BookingStatus, Long> getMyBookingCounts(Long userId) {
+        userService.requireUser(userId);
+        Map<BookingStatus, Long> counts = new EnumMap<>(BookingStatus.class);
+        for (BookingStatus status : BookingStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : bookingRepository.countByUserGroupedByStatus(userId)) {
+            counts.put((BookingStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
     }
 
-    public List<BookingResponse> getAllBookings() {
-        log.info("Fetching all bookings (Admin)");
-        return bookingRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    // One keyset page of bookings matching the filter; pass the previous page's
+    // nextCursor to continue. Size defaults to 20 and is capped at 100.
+    public BookingPage getBookingsPage(BookingFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        BookingCursor after = cursor == null || cursor.isBlank() ? null : BookingCursor.decode(cursor);
+
+        if (filter.startDate() != null && filter.endDate() != null && filter.startDate().isAfter(filter.endDate())) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+        if (filter.userId() != null) {
+            userService.requireUser(filter.userId());
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<BookingResponse> rows = bookingRepository.findResponsePage(filter,
+                after != null ? after.bookingDate() : null,
+                after != null ? after.startTime() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = BookingCursor.after(rows.get(pageSize - 1)).encode();
+        }
+        return new BookingPage(rows, rows.size(), nextCursor);
     }
 
     public List<BookingResponse> getPendingBookings() {
         log.info("Fetching pending bookings");
-        return bookingRepository.findByStatus(BookingStatus.PENDING).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return bookingRepository.findResponsesByStatus(BookingStatus.PENDING);
     }
 
     public BookingResponse getBookingById(Long bookingId) {
         log.info("Fetching booking ID: {}", bookingId);
-        Booking booking = bookingRepository.findById(bookingId)
+        return bookingRepository.findResponseById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
-        return mapToResponse(booking);
+    }
+
+    // Answer from the interval index when it covers the date, otherwise fall back to the DB
+    private boolean hasApprovedConflict(Long roomId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (bookingIntervalIndex.covers(date)) {
+            return bookingIntervalIndex.hasConflict(roomId, date, startTime, endTime);
+        }
+        return !bookingRepository.findConflictingBookings(roomId, date, startTime, endTime).isEmpty();
     }
 
     // Helper method to map entity to response
@@ -0,0 +1,101 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.OutboxStatus;
+import com.roombooking.system.model.OutboxEmail;
+import com.roombooking.system.repository.EmailOutboxRepository;
+import com.roombooking.system.service.MailTemplates.RenderedMail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Coalesces HELD outbox rows (templates listed in mail.digest.templates) into one
+// email per recipient. A recipient's notifications are folded once the oldest of
+// them has waited the digest window; a lone notification is released unchanged.
+// The digest replaces the held rows in one transaction, so nothing is sent twice.
+@Component
+@Slf4j
+public class EmailDigestService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final MailTemplates mailTemplates;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${mail.digest.window-minutes:60}")
+    private long windowMinutes;
+
+    // Anything beyond this stays held for the next digest
+    @Value("${mail.digest.max-items:100}")
+    private int maxItems;
+
+    private final Counter digests;
+    private final Counter coalesced;
+
+    public EmailDigestService(EmailOutboxRepository outboxRepository,
+                              MailTemplates mailTemplates,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailTemplates = mailTemplates;
+        this.transactionTemplate = transactionTemplate;
+
+        this.digests = meterRegistry.counter("mail.digest.sent");
+        this.coalesced = meterRegistry.counter("mail.digest.coalesced");
+    }
+
+    @Scheduled(fixedDelayString = "${mail.digest.poll-interval-ms:60000}")
+    public void flush() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(windowMinutes);
+        for (String recipient : outboxRepository.findDigestRecipients(cutoff)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> fold(recipient));
+            } catch (RuntimeException e) {
+                log.error("Failed to build email digest for {}: {}", recipient, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void fold(String recipient) {
+        List<OutboxEmail> held = outboxRepository.findHeld(recipient, Limit.of(maxItems));
+        if (held.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        if (held.size() == 1) {
+            OutboxEmail email = held.get(0);
+            email.setStatus(OutboxStatus.PENDING);
+            email.setNextAttemptAt(now);
+            return;
+        }
+
+        StringBuilder items = new StringBuilder();
+        for (OutboxEmail email : held) {
+            if (!items.isEmpty()) {
+                items.append('\n');
+            }
+            items.append("- ").append(email.getSummary() != null ? email.getSummary() : email.getSubject());
+        }
+        RenderedMail mail = mailTemplates.renderDigest(held.size(), items.toString());
+
+        OutboxEmail digest = new OutboxEmail();
+        digest.setRecipient(recipient);
+        digest.setSubject(mail.subject());
+        digest.setBody(mail.text());
+        digest.setHtmlBody(mail.html());
+        digest.setNextAttemptAt(now);
+        outboxRepository.save(digest);
+        outboxRepository.deleteAllInBatch(held);
+
+        digests.increment();
+        coalesced.increment(held.size());
+        log.info("Queued digest of {} notifications to {}", held.size(), recipient);
+    }
+}
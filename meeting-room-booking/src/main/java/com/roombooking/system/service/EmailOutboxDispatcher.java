@@ -0,0 +1,238 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.OutboxStatus;
+import com.roombooking.system.model.OutboxEmail;
+import com.roombooking.system.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+// Drains the email outbox. Each poll claims a batch of due rows (leasing them so
+// other instances skip them), sends the whole batch over one SMTP connection,
+// then records the outcome per message: sent, retried with exponential backoff,
+// or dead-lettered after the last attempt. A token bucket caps the send rate.
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.backoff.initial-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${mail.outbox.backoff.max-ms:3600000}")
+    private long maxBackoffMs;
+
+    // A claimed row is retried after this if the instance dies mid-send
+    @Value("${mail.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+
+    // Only touched by the scheduler thread (fixedDelay never overlaps itself)
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+
+        this.sent = meterRegistry.counter("mail.outbox.sent");
+        this.retried = meterRegistry.counter("mail.outbox.retried");
+        this.dead = meterRegistry.counter("mail.outbox.dead");
+        Gauge.builder("mail.outbox.pending", outboxRepository, r -> r.countByStatus(OutboxStatus.PENDING))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        refillTokens();
+        int permits = Math.min(batchSize, (int) tokens);
+        if (permits == 0) {
+            return;
+        }
+
+        List<OutboxEmail> batch = claim(permits);
+        if (batch.isEmpty()) {
+            return;
+        }
+        tokens -= batch.size();
+
+        // A message that cannot even be built is failed on its own, not with the batch
+        Exception[] failures = new Exception[batch.size()];
+        MimeMessage[] messages = new MimeMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                messages[i] = toMessage(batch.get(i));
+            } catch (MessagingException | RuntimeException e) {
+                failures[i] = new MailPreparationException("Could not build email: " + e.getMessage(), e);
+            }
+        }
+        send(messages, failures);
+        record(batch, failures);
+    }
+
+    // Sent rows are only kept for a while, for troubleshooting
+    @Scheduled(cron = "${mail.outbox.purge-cron:0 0 3 * * *}")
+    public void purgeSent() {
+        int purged = outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            log.info("Purged {} sent emails from the outbox", purged);
+        }
+    }
+
+    private void refillTokens() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        tokens = Math.min(batchSize, tokens + elapsedSeconds * ratePerSecond);
+        lastRefillNanos = now;
+    }
+
+    private List<OutboxEmail> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEmail> due = outboxRepository.findDue(now, Limit.of(limit));
+            for (OutboxEmail email : due) {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setNextAttemptAt(now.plus(leaseMs, ChronoUnit.MILLIS));
+            }
+            return due;
+        });
+    }
+
+    // Sends the prepared messages over one connection, filling in failures by position
+    private void send(MimeMessage[] messages, Exception[] failures) {
+        MimeMessage[] prepared = Arrays.stream(messages).filter(Objects::nonNull).toArray(MimeMessage[]::new);
+        if (prepared.length == 0) {
+            return;
+        }
+        try {
+            mailSender.send(prepared);
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (int i = 0; i < messages.length; i++) {
+                if (messages[i] != null) {
+                    // No per-message detail means the connection itself failed
+                    Exception failure = failed.isEmpty() ? e : failed.get(messages[i]);
+                    if (failure != null) {
+                        failures[i] = failure;
+                    }
+                }
+            }
+        } catch (MailException e) {
+            for (int i = 0; i < messages.length; i++) {
+                if (messages[i] != null) {
+                    failures[i] = e;
+                }
+            }
+        }
+    }
+
+    private void record(List<OutboxEmail> batch, Exception[] failures) {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEmail email = batch.get(i);
+            Exception failure = failures[i];
+            if (failure != null) {
+                failed++;
+            }
+            if (failure == null) {
+                email.setStatus(OutboxStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sent.increment();
+            } else if (isPermanent(failure) || email.getAttempts() >= maxAttempts) {
+                email.setStatus(OutboxStatus.DEAD);
+                email.setLastError(truncate(failure.getMessage()));
+                dead.increment();
+                log.error("Email {} to {} dead-lettered after {} attempts: {}", email.getId(), email.getRecipient(),
+                        email.getAttempts(), failure.getMessage());
+            } else {
+                email.setNextAttemptAt(now.plus(backoffMs(email.getAttempts()), ChronoUnit.MILLIS));
+                email.setLastError(truncate(failure.getMessage()));
+                retried.increment();
+                log.warn("Email {} to {} failed (attempt {}), retrying at {}: {}", email.getId(), email.getRecipient(),
+                        email.getAttempts(), email.getNextAttemptAt(), failure.getMessage());
+            }
+        }
+        outboxRepository.saveAll(batch);
+        log.debug("Dispatched {} outbox emails, {} failed", batch.size(), failed);
+    }
+
+    // Plain text only, or multipart/alternative when the template has an HTML version
+    private MimeMessage toMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.getHtmlBody() != null, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        if (email.getHtmlBody() != null) {
+            helper.setText(email.getBody(), email.getHtmlBody());
+        } else {
+            helper.setText(email.getBody());
+        }
+        return message;
+    }
+
+    // 30s, 1m, 2m, ... capped at the configured maximum
+    private long backoffMs(int attempts) {
+        long backoff = initialBackoffMs << Math.min(attempts - 1, 30);
+        return backoff <= 0 ? maxBackoffMs : Math.min(backoff, maxBackoffMs);
+    }
+
+    // Malformed messages will never go through, so retrying is pointless
+    private static boolean isPermanent(Exception failure) {
+        return failure instanceof MailPreparationException;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
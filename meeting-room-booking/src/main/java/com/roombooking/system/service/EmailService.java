@@ -1,19 +1,21 @@
 package com.roombooking.system.service;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.roombooking.system.dto.BookingMailModel;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.enums.OutboxStatus;
 import com.roombooking.system.model.Booking;
-import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.model.OutboxEmail;
+import com.roombooking.system.model.User;
+import com.roombooking.system.repository.EmailOutboxRepository;
+import com.roombooking.system.service.MailTemplates.RenderedMail;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,308 +25,138 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EmailService {
 
-	private final BookingRepository bookingRepository;
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
+    private final MailTemplates mailTemplates;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    // Templates whose emails are held and coalesced per recipient by EmailDigestService
+    @Value("${mail.digest.templates:}")
+    private Set<String> digestTemplates;
 
-    // Send email notification when booking is created (PENDING)
-    @Async
-    public void sendBookingRequestEmail(Booking booking, String adminEmail) {
-        try {
-            log.info("Sending booking request email to admin: {}", adminEmail);
+    // All notifications are queued in the outbox as part of the caller's transaction,
+    // so they are only sent if the booking change commits; EmailOutboxDispatcher delivers them.
+    // Bodies are rendered from a flat snapshot taken here, while the booking's session is open.
 
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(adminEmail);
-            message.setSubject("New Booking Request - " + booking.getMeetingTitle());
-            message.setText(buildBookingRequestEmailBody(booking));
+    // Queue email notification when booking is created (PENDING)
+    public void sendBookingRequestEmail(Booking booking, String adminEmail) {
+        enqueue(MailTemplates.BOOKING_REQUEST, snapshot(booking, adminEmail, "Admin", 0));
+    }
 
-            mailSender.send(message);
-            log.info("Booking request email sent successfully to: {}", adminEmail);
-        } catch (Exception e) {
-            log.error("Failed to send booking request email: {}", e.getMessage());
+    // Queue one request email per admin, only when request emails are digested;
+    // otherwise admins work from the pending queue and get no per-booking email
+    public void sendBookingRequestEmails(Booking booking, List<User> admins) {
+        if (!digestTemplates.contains(MailTemplates.BOOKING_REQUEST)) {
+            return;
+        }
+        for (User admin : admins) {
+            sendBookingRequestEmail(booking, admin.getEmail());
         }
     }
 
-    // Send email to employee when booking is created
-    @Async
+    // Queue email to employee when booking is created
     public void sendBookingConfirmationEmail(Booking booking) {
-        try {
-            log.info("Sending booking confirmation email to user: {}", booking.getUser().getEmail());
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getUser().getEmail());
-            message.setSubject("Booking Request Submitted - " + booking.getMeetingTitle());
-            message.setText(buildBookingSubmittedEmailBody(booking));
+        enqueue(MailTemplates.BOOKING_SUBMITTED, snapshot(booking, 0));
+    }
 
-            mailSender.send(message);
-            log.info("Booking confirmation email sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send booking confirmation email: {}", e.getMessage());
+    // Queue one email for all bookings a recurring rule just produced (same rule, date order)
+    public void sendRecurringBookingsCreatedEmail(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
         }
+        BookingMailModel first = snapshot(bookings.get(0), 0);
+        RenderedMail mail = mailTemplates.renderRecurringCreated(
+                first, snapshot(bookings.get(bookings.size() - 1), 0), bookings.size());
+        OutboxEmail email = outboxRepository.save(
+                outboxEmail(MailTemplates.RECURRING_CREATED, first.recipientEmail(), mail));
+        log.info("Queued email '{}' to: {}", email.getSubject(), email.getRecipient());
     }
 
-    // Send email when booking is approved
-    @Async
+    // Queue email when booking is approved
     public void sendBookingApprovedEmail(Booking booking) {
-        try {
-            log.info("Sending approval email to user: {}", booking.getUser().getEmail());
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getUser().getEmail());
-            message.setSubject("Booking Approved - " + booking.getMeetingTitle());
-            message.setText(buildApprovalEmailBody(booking));
-
-            mailSender.send(message);
-            log.info("Approval email sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send approval email: {}", e.getMessage());
-        }
+        enqueue(MailTemplates.BOOKING_APPROVED, snapshot(booking, 0));
     }
 
-    // Send email when booking is rejected
-    @Async
+    // Queue email when booking is rejected
     public void sendBookingRejectedEmail(Booking booking) {
-        try {
-            log.info("Sending rejection email to user: {}", booking.getUser().getEmail());
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getUser().getEmail());
-            message.setSubject("Booking Rejected - " + booking.getMeetingTitle());
-            message.setText(buildRejectionEmailBody(booking));
-
-            mailSender.send(message);
-            log.info("Rejection email sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send rejection email: {}", e.getMessage());
-        }
+        enqueue(MailTemplates.BOOKING_REJECTED, snapshot(booking, 0));
     }
 
-    // Send reminder email before meeting starts
-    @Async
-    public void sendMeetingReminderEmail(Booking booking) {
-        try {
-            log.info("Sending meeting reminder to user: {}", booking.getUser().getEmail());
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(booking.getUser().getEmail());
-            message.setSubject("Reminder: Meeting in 15 minutes - " + booking.getMeetingTitle());
-            message.setText(buildReminderEmailBody(booking));
-
-            mailSender.send(message);
-            log.info("Reminder email sent successfully");
-        } catch (Exception e) {
-            log.error("Failed to send reminder email: {}", e.getMessage());
+    // Queue approval/rejection emails for a batch of decisions in one batched insert
+    public void sendBookingDecisionEmails(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        log.info("Queueing {} booking decision emails", bookings.size());
+
+        List<OutboxEmail> emails = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            String template = booking.getStatus() == BookingStatus.APPROVED
+                    ? MailTemplates.BOOKING_APPROVED
+                    : MailTemplates.BOOKING_REJECTED;
+            emails.add(outboxEmail(template, snapshot(booking, 0)));
         }
+        outboxRepository.saveAll(emails);
     }
 
-    // Email body templates
-    private String buildBookingRequestEmailBody(Booking booking) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-
-        return String.format("""
-                Dear Admin,
-                
-                A new booking request has been submitted and requires your approval.
-                
-                Booking Details:
-                ================
-                Meeting Title: %s
-                Requested By: %s
-                Room: %s
-                Date: %s
-                Time: %s to %s
-                Attendees: %d
-                
-                Description:
-                %s
-                
-                Please log in to the system to approve or reject this booking.
-                
-                Best regards,
-                Meeting Room Booking System
-                """,
-                booking.getMeetingTitle(),
-                booking.getUser().getFullName(),
-                booking.getRoom().getName(),
-                booking.getBookingDate().format(dateFormatter),
-                booking.getStartTime().format(timeFormatter),
-                booking.getEndTime().format(timeFormatter),
-                booking.getAttendeesCount() != null ? booking.getAttendeesCount() : 0,
-                booking.getDescription() != null ? booking.getDescription() : "N/A"
-        );
+    // Queue reminder email before meeting starts
+    public void sendMeetingReminderEmail(Booking booking, long minutesBefore) {
+        enqueue(MailTemplates.MEETING_REMINDER, snapshot(booking, minutesBefore));
     }
 
-    private String buildBookingSubmittedEmailBody(Booking booking) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-
-        return String.format("""
-                Dear %s,
-                
-                Your booking request has been submitted successfully and is waiting for admin approval.
-                
-                Booking Details:
-                ================
-                Meeting Title: %s
-                Room: %s
-                Date: %s
-                Time: %s to %s
-                Status: PENDING APPROVAL
-                
-                You will receive a notification once the admin reviews your request.
-                
-                Best regards,
-                Meeting Room Booking System
-                """,
-                booking.getUser().getFullName(),
-                booking.getMeetingTitle(),
-                booking.getRoom().getName(),
-                booking.getBookingDate().format(dateFormatter),
-                booking.getStartTime().format(timeFormatter),
-                booking.getEndTime().format(timeFormatter)
-        );
+    // Utility method to queue a plain text email
+    public void sendSimpleEmail(String to, String subject, String body) {
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setNextAttemptAt(LocalDateTime.now());
+        outboxRepository.save(email);
+        log.info("Queued email '{}' to: {}", subject, to);
     }
 
-    private String buildApprovalEmailBody(Booking booking) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
-
-        return String.format("""
-                Dear %s,
-                
-                Great news! Your booking request has been APPROVED.
-                
-                Booking Details:
-                ================
-                Meeting Title: %s
-                Room: %s
-                Date: %s
-                Time: %s to %s
-                Status: CONFIRMED
-                
-                Approved By: %s
-                Approved At: %s
-                
-                Please ensure you are on time for your meeting. The room will be ready for you.
-                
-                Best regards,
-                Meeting Room Booking System
-                """,
-                booking.getUser().getFullName(),
-                booking.getMeetingTitle(),
-                booking.getRoom().getName(),
-                booking.getBookingDate().format(dateFormatter),
-                booking.getStartTime().format(timeFormatter),
-                booking.getEndTime().format(timeFormatter),
-                booking.getApprovedBy().getFullName(),
-                booking.getApprovedAt().format(DateTimeFormatter.ofPattern("dd-MMM-yyyy hh:mm a"))
-        );
+    private void enqueue(String template, BookingMailModel model) {
+        OutboxEmail email = outboxRepository.save(outboxEmail(template, model));
+        log.info("Queued email '{}' to: {}", email.getSubject(), email.getRecipient());
     }
 
-    private String buildRejectionEmailBody(Booking booking) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
+    private OutboxEmail outboxEmail(String template, BookingMailModel model) {
+        return outboxEmail(template, model.recipientEmail(), mailTemplates.render(template, model));
+    }
 
-        return String.format("""
-                Dear %s,
-                
-                We regret to inform you that your booking request has been REJECTED.
-                
-                Booking Details:
-                ================
-                Meeting Title: %s
-                Room: %s
-                Date: %s
-                Time: %s to %s
-                Status: REJECTED
-                
-                Rejected By: %s
-                
-                Please contact the admin or try booking a different time slot.
-                
-                Best regards,
-                Meeting Room Booking System
-                """,
-                booking.getUser().getFullName(),
-                booking.getMeetingTitle(),
-                booking.getRoom().getName(),
-                booking.getBookingDate().format(dateFormatter),
-                booking.getStartTime().format(timeFormatter),
-                booking.getEndTime().format(timeFormatter),
-                booking.getApprovedBy().getFullName()
-        );
+    private OutboxEmail outboxEmail(String template, String recipient, RenderedMail mail) {
+        OutboxEmail email = new OutboxEmail();
+        email.setRecipient(recipient);
+        email.setSubject(mail.subject());
+        email.setBody(mail.text());
+        email.setHtmlBody(mail.html());
+        email.setSummary(mail.summary());
+        if (digestTemplates.contains(template)) {
+            email.setStatus(OutboxStatus.HELD);
+        }
+        email.setNextAttemptAt(LocalDateTime.now());
+        return email;
     }
 
-    private String buildReminderEmailBody(Booking booking) {
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("hh:mm a");
+    // Addressed to the booking's owner
+    private BookingMailModel snapshot(Booking booking, long minutesBefore) {
+        return snapshot(booking, booking.getUser().getEmail(), booking.getUser().getFullName(), minutesBefore);
+    }
 
-        return String.format("""
-                Dear %s,
-                
-                This is a reminder that your meeting is starting in 15 minutes!
-                
-                Meeting Details:
-                ================
-                Meeting Title: %s
-                Room: %s
-                Start Time: %s
-                
-                Please proceed to the meeting room.
-                
-                Best regards,
-                Meeting Room Booking System
-                """,
+    private BookingMailModel snapshot(Booking booking, String recipientEmail, String recipientName, long minutesBefore) {
+        User decidedBy = booking.getApprovedBy();
+        return new BookingMailModel(
+                recipientEmail,
+                recipientName,
                 booking.getUser().getFullName(),
                 booking.getMeetingTitle(),
                 booking.getRoom().getName(),
-                booking.getStartTime().format(timeFormatter)
-        );
-    }
-
-    // Utility method to send plain text email
-    @Async
-    public void sendSimpleEmail(String to, String subject, String body) {
-        try {
-            log.info("Sending email to: {}", to);
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-
-            mailSender.send(message);
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email: {}", e.getMessage());
-        }
-    }
-    
-    @Scheduled(cron = "0 */14 * * * *") 
-    @Async
-    public void sendUpcomingMeetingReminders() {
-        log.info("Checking for upcoming meetings to send reminders...");
-        
-        LocalDate today = LocalDate.now();
-        LocalTime now = LocalTime.now();
-        LocalTime fifteenMinutesLater = now.plusMinutes(15);
-        
-        List<Booking> upcomingBookings = bookingRepository.findUpcomingBookings(
-            today, now, fifteenMinutesLater
+                booking.getBookingDate(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                booking.getAttendeesCount() != null ? booking.getAttendeesCount() : 0,
+                booking.getDescription(),
+                decidedBy != null ? decidedBy.getFullName() : null,
+                booking.getApprovedAt(),
+                minutesBefore
         );
-        
-        log.info("Found {} upcoming meetings", upcomingBookings.size());
-        
-        for (Booking booking : upcomingBookings) {
-            sendMeetingReminderEmail(booking);
-        }
     }
-}
\ No newline at end of file
+}
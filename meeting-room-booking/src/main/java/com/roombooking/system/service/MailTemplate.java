@@ -0,0 +1,76 @@
+package com.roombooking.system.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// A notification template parsed once into literal and placeholder segments.
+// Placeholders are written {{name}}; values substituted into HTML templates are escaped.
+final class MailTemplate {
+
+    private final String[] literals;   // One more than keys: text before, between and after placeholders
+    private final String[] keys;
+    private final boolean html;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] keys, boolean html) {
+        this.literals = literals;
+        this.keys = keys;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static MailTemplate compile(String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int pos = 0;
+        int open;
+        while ((open = source.indexOf("{{", pos)) >= 0) {
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            literals.add(source.substring(pos, open));
+            keys.add(source.substring(open + 2, close).trim());
+            pos = close + 2;
+        }
+        literals.add(source.substring(pos));
+        return new MailTemplate(literals.toArray(String[]::new), keys.toArray(String[]::new), html);
+    }
+
+    List<String> keys() {
+        return List.of(keys);
+    }
+
+    String render(Function<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + keys.length * 24);
+        for (int i = 0; i < keys.length; i++) {
+            out.append(literals[i]);
+            String value = values.apply(keys[i]);
+            if (html) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        return out.append(literals[keys.length]).toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
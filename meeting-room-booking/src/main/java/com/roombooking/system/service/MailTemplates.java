@@ -0,0 +1,148 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingMailModel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// Notification templates, compiled once at startup. Each lives in
+// classpath:mail-templates/<name>.txt, which starts with a "Subject: ..." line
+// and optionally a one-line "Summary: ..." used when the message is folded
+// into a digest, with an optional <name>.html alternative sent as multipart.
+@Component
+@Slf4j
+public class MailTemplates {
+
+    public static final String BOOKING_REQUEST = "booking-request";
+    public static final String BOOKING_SUBMITTED = "booking-submitted";
+    public static final String BOOKING_APPROVED = "booking-approved";
+    public static final String BOOKING_REJECTED = "booking-rejected";
+    public static final String MEETING_REMINDER = "meeting-reminder";
+    public static final String RECURRING_CREATED = "recurring-created";
+    public static final String DIGEST = "digest";
+
+    private static final String LOCATION = "mail-templates/";
+    private static final String SUBJECT_PREFIX = "Subject:";
+    private static final String SUMMARY_PREFIX = "Summary:";
+    private static final Set<String> DIGEST_KEYS = Set.of("count", "items");
+    private static final Set<String> RECURRING_KEYS = union(BookingMailModel.KEYS, Set.of("count", "lastDate"));
+
+    private final Map<String, Compiled> templates = new HashMap<>();
+
+    public MailTemplates() {
+        for (String name : List.of(BOOKING_REQUEST, BOOKING_SUBMITTED, BOOKING_APPROVED, BOOKING_REJECTED,
+                MEETING_REMINDER)) {
+            templates.put(name, load(name, BookingMailModel.KEYS));
+        }
+        templates.put(RECURRING_CREATED, load(RECURRING_CREATED, RECURRING_KEYS));
+        templates.put(DIGEST, load(DIGEST, DIGEST_KEYS));
+        log.info("Compiled {} mail templates", templates.size());
+    }
+
+    public RenderedMail render(String name, BookingMailModel model) {
+        return render(name, model::value);
+    }
+
+    // Digest of several notifications: items is the pre-built list of summary lines
+    public RenderedMail renderDigest(int count, String items) {
+        return render(DIGEST, key -> key.equals("count") ? Integer.toString(count) : items);
+    }
+
+    // One notice for the bookings a recurring rule produced: first and last occurrence plus the count
+    public RenderedMail renderRecurringCreated(BookingMailModel first, BookingMailModel last, int count) {
+        return render(RECURRING_CREATED, key -> switch (key) {
+            case "count" -> Integer.toString(count);
+            case "lastDate" -> last.value("date");
+            default -> first.value(key);
+        });
+    }
+
+    private RenderedMail render(String name, Function<String, String> values) {
+        Compiled template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown mail template: " + name);
+        }
+        return new RenderedMail(
+                template.subject().render(values),
+                template.summary() != null ? template.summary().render(values) : null,
+                template.text().render(values),
+                template.html() != null ? template.html().render(values) : null);
+    }
+
+    private static Compiled load(String name, Set<String> keys) {
+        String text = read(LOCATION + name + ".txt");
+        if (text == null) {
+            throw new IllegalStateException("Missing mail template " + name + ".txt");
+        }
+        int newline = text.indexOf('\n');
+        if (!text.startsWith(SUBJECT_PREFIX) || newline < 0) {
+            throw new IllegalStateException("Mail template " + name + ".txt must start with a Subject: line");
+        }
+        String subject = text.substring(SUBJECT_PREFIX.length(), newline).trim();
+        String rest = text.substring(newline + 1);
+
+        String summary = null;
+        int summaryEnd = rest.indexOf('\n');
+        if (rest.startsWith(SUMMARY_PREFIX) && summaryEnd >= 0) {
+            summary = rest.substring(SUMMARY_PREFIX.length(), summaryEnd).trim();
+            rest = rest.substring(summaryEnd + 1);
+        }
+        String html = read(LOCATION + name + ".html");
+
+        Compiled compiled = new Compiled(
+                MailTemplate.compile(subject, false),
+                summary != null ? MailTemplate.compile(summary, false) : null,
+                MailTemplate.compile(rest.stripLeading(), false),
+                html != null ? MailTemplate.compile(html, true) : null);
+        compiled.validate(name, keys);
+        return compiled;
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> keys = new HashSet<>(a);
+        keys.addAll(b);
+        return Set.copyOf(keys);
+    }
+
+    private static String read(String path) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read mail template " + path, e);
+        }
+    }
+
+    public record RenderedMail(String subject, String summary, String text, String html) {}
+
+    private record Compiled(MailTemplate subject, MailTemplate summary, MailTemplate text, MailTemplate html) {
+
+        // Fail at startup rather than on the first send
+        void validate(String name, Set<String> allowed) {
+            for (MailTemplate template : new MailTemplate[] {subject, summary, text, html}) {
+                if (template == null) {
+                    continue;
+                }
+                for (String key : template.keys()) {
+                    if (!allowed.contains(key)) {
+                        throw new IllegalStateException("Mail template " + name + " uses unknown key " + key);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingSlot;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.repository.BookingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Fires each approved booking's reminder once, a fixed offset before it starts.
+// Pending reminders sit in a DelayQueue drained by one thread; approvals add
+// entries and cancellations drop them (both after commit), and the queue is
+// rebuilt from the database on startup. The reminder_sent_at claim makes the
+// send idempotent across restarts and instances.
+@Component
+@Slf4j
+public class MeetingReminderScheduler {
+
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final BookingRepository bookingRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final long offsetMinutes;
+
+    private final DelayQueue<Reminder> queue = new DelayQueue<>();
+    private final Map<Long, Reminder> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public MeetingReminderScheduler(BookingRepository bookingRepository,
+                                    EmailService emailService,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${reminder.offset-minutes:15}") long offsetMinutes) {
+        this.bookingRepository = bookingRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = transactionTemplate;
+        this.offsetMinutes = offsetMinutes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<BookingSlot> slots = bookingRepository.findUnremindedSlotsFrom(LocalDate.now());
+        for (BookingSlot slot : slots) {
+            put(slot.bookingId(), slot.bookingDate().atTime(slot.startTime()));
+        }
+        log.info("Reminder schedule loaded with {} upcoming meetings", pending.size());
+
+        running = true;
+        worker = new Thread(this::drainLoop, "Reminder-Scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    // Schedule the reminder for an approved booking; applied after commit
+    public void schedule(Booking booking) {
+        Long id = booking.getId();
+        LocalDateTime startsAt = booking.getBookingDate().atTime(booking.getStartTime());
+        TransactionCallbacks.afterCommit(() -> put(id, startsAt));
+    }
+
+    // Drop the reminder of a booking that is no longer approved; applied after commit
+    public void cancel(Booking booking) {
+        Long id = booking.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            Reminder reminder = pending.remove(id);
+            if (reminder != null) {
+                queue.remove(reminder);
+            }
+        });
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    // Meetings approved inside the offset window are reminded right away
+    private void put(Long bookingId, LocalDateTime startsAt) {
+        if (!startsAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        enqueue(new Reminder(bookingId, startsAt, startsAt.minusMinutes(offsetMinutes)));
+    }
+
+    private void enqueue(Reminder reminder) {
+        Reminder previous = pending.put(reminder.bookingId(), reminder);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.put(reminder);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            Reminder reminder;
+            try {
+                reminder = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Skip entries replaced or cancelled after they were queued
+            if (!pending.remove(reminder.bookingId(), reminder)) {
+                continue;
+            }
+            try {
+                fire(reminder.bookingId());
+            } catch (RuntimeException e) {
+                log.error("Failed to send reminder for booking {}: {}", reminder.bookingId(), e.getMessage(), e);
+                LocalDateTime retryAt = LocalDateTime.now().plus(RETRY_DELAY);
+                if (retryAt.isBefore(reminder.startsAt())) {
+                    enqueue(new Reminder(reminder.bookingId(), reminder.startsAt(), retryAt));
+                }
+            }
+        }
+    }
+
+    private void fire(Long bookingId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (bookingRepository.markReminderSent(bookingId, LocalDateTime.now()) == 1) {
+                bookingRepository.findById(bookingId)
+                        .ifPresent(booking -> emailService.sendMeetingReminderEmail(booking, offsetMinutes));
+                log.debug("Reminder queued for booking {}", bookingId);
+            }
+        });
+    }
+
+    private record Reminder(Long bookingId, LocalDateTime startsAt, LocalDateTime fireAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), fireAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return fireAt.compareTo(((Reminder) other).fireAt);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.model.RecurringRule;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// A recurring rule compiled for expansion: daily and weekly rules become a weekday
+// bitmask (bit 0 = Monday ... bit 6 = Sunday), monthly rules a day of month.
+// Occurrences are produced lazily, each one jumping straight to the next match
+// instead of testing every day in between.
+final class RecurrencePattern {
+
+    static final int ALL_DAYS = 0x7F;
+
+    private final int weekdayMask;
+    private final int monthDay; // 0 unless monthly
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+
+    private RecurrencePattern(int weekdayMask, int monthDay, LocalDate firstDate, LocalDate lastDate) {
+        this.weekdayMask = weekdayMask;
+        this.monthDay = monthDay;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+    }
+
+    static RecurrencePattern compile(RecurringRule rule) {
+        return switch (rule.getFrequency()) {
+            case DAILY -> new RecurrencePattern(ALL_DAYS, 0, rule.getStartDate(), rule.getEndDate());
+            case WEEKLY -> new RecurrencePattern(
+                    rule.getDaysOfWeekMask() != null ? rule.getDaysOfWeekMask() & ALL_DAYS : 0,
+                    0, rule.getStartDate(), rule.getEndDate());
+            case MONTHLY -> new RecurrencePattern(
+                    0, rule.getStartDate().getDayOfMonth(), rule.getStartDate(), rule.getEndDate());
+        };
+    }
+
+    // First occurrence on or after the date, or null once the rule has ended
+    LocalDate next(LocalDate date) {
+        if (date.isBefore(firstDate)) {
+            date = firstDate;
+        }
+        LocalDate next = monthDay > 0 ? nextMonthDay(date) : nextWeekday(date);
+        return next != null && !next.isAfter(lastDate) ? next : null;
+    }
+
+    // Occurrences in [from, to], oldest first
+    Iterator<LocalDate> occurrences(LocalDate from, LocalDate to) {
+        return new Iterator<>() {
+            private LocalDate next = upTo(RecurrencePattern.this.next(from), to);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public LocalDate next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate current = next;
+                next = upTo(RecurrencePattern.this.next(current.plusDays(1)), to);
+                return current;
+            }
+        };
+    }
+
+    private LocalDate nextWeekday(LocalDate date) {
+        if (weekdayMask == 0) {
+            return null;
+        }
+        // Rotate the mask so bit 0 is the given day; the lowest set bit is the distance
+        int day = date.getDayOfWeek().getValue() - 1;
+        int rotated = ((weekdayMask >>> day) | (weekdayMask << (7 - day))) & ALL_DAYS;
+        return date.plusDays(Integer.numberOfTrailingZeros(rotated));
+    }
+
+    // Months too short for the day (e.g. the 31st) have no occurrence
+    private LocalDate nextMonthDay(LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        if (date.getDayOfMonth() > monthDay) {
+            month = month.plusMonths(1);
+        }
+        while (!month.isValidDay(monthDay)) {
+            month = month.plusMonths(1);
+        }
+        return month.atDay(monthDay);
+    }
+
+    private static LocalDate upTo(LocalDate date, LocalDate to) {
+        return date != null && !date.isAfter(to) ? date : null;
+    }
+
+    // Days as used by the API: 1 = Monday ... 7 = Sunday
+    static int toMask(Collection<Integer> days) {
+        int mask = 0;
+        for (Integer day : days) {
+            if (day == null || day < 1 || day > 7) {
+                throw new IllegalArgumentException("Days of week must be between 1 (Monday) and 7 (Sunday)");
+            }
+            mask |= 1 << (day - 1);
+        }
+        return mask;
+    }
+
+    static List<Integer> toDays(int mask) {
+        List<Integer> days = new ArrayList<>(Integer.bitCount(mask));
+        for (int bit = 0; bit < 7; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                days.add(bit + 1);
+            }
+        }
+        return days;
+    }
+}
@@ -0,0 +1,442 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingInterval;
+import com.roombooking.system.dto.RecurringRunReport;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.RecurringRule;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.RecurringRuleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Creates bookings from recurring rules. Each rule keeps a materialized-through
+// watermark and a due date (when its next occurrence enters its horizon), so a run
+// only loads due rules and generates the uncovered days. Conflicts only happen
+// within a room, so rules are partitioned by room and the partitions run
+// concurrently on virtual threads, with a semaphore bounding how many use a
+// database connection at once. Every chunk commits its bookings together with its
+// rules' watermarks, so a run that dies midway is resumed from where it stopped.
+// Watermarks only move from the value a run loaded, so concurrent runs (say, on two
+// instances) never both create a rule's occurrences.
+@Component
+@Slf4j
+public class RecurringBookingMaterializer {
+
+    private static final String INSERT_SQL = "INSERT INTO bookings " +
+            "(room_id, user_id, meeting_title, description, booking_date, start_time, end_time, " +
+            "attendees_count, status, recurring_rule_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String WATERMARK_SQL = "UPDATE recurring_rules " +
+            "SET materialized_through = ?, materialize_due_on = ? " +
+            "WHERE id = ? AND materialized_through IS NOT DISTINCT FROM ?";
+
+    private static final String RUN_STARTED_SQL = "INSERT INTO recurring_runs (started_at) VALUES (?)";
+
+    // A finished run also closes markers left open by interrupted runs before it,
+    // since it picked up every rule they left due
+    private static final String RUN_FINISHED_SQL = "UPDATE recurring_runs SET finished_at = ? " +
+            "WHERE finished_at IS NULL AND id <= ?";
+
+    private static final String INTERRUPTED_RUNS_SQL = "SELECT COUNT(*) FROM recurring_runs WHERE finished_at IS NULL";
+
+    private final RecurringRuleRepository recurringRuleRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingAnalyticsStore bookingAnalyticsStore;
+    private final RoomUtilizationService roomUtilizationService;
+    private final EmailService emailService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int horizonDays;
+    private final int chunkSize;
+    private final Semaphore dbPermits;
+
+    @Value("${recurring.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RecurringRunReport lastReport;
+
+    public RecurringBookingMaterializer(RecurringRuleRepository recurringRuleRepository,
+                                        BookingRepository bookingRepository,
+                                        BookingAnalyticsStore bookingAnalyticsStore,
+                                        RoomUtilizationService roomUtilizationService,
+                                        EmailService emailService,
+                                        JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${recurring.horizon-days:7}") int horizonDays,
+                                        @Value("${recurring.chunk-size:500}") int chunkSize,
+                                        @Value("${recurring.db-concurrency:4}") int dbConcurrency) {
+        this.recurringRuleRepository = recurringRuleRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingAnalyticsStore = bookingAnalyticsStore;
+        this.roomUtilizationService = roomUtilizationService;
+        this.emailService = emailService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.horizonDays = horizonDays;
+        this.chunkSize = chunkSize;
+        this.dbPermits = new Semaphore(dbConcurrency);
+    }
+
+    // Runs every day at 2 AM
+    @Scheduled(cron = "${recurring.cron:0 0 2 * * *}")
+    public void nightly() {
+        run();
+    }
+
+    // A run that started but never finished was cut off by a restart; rules that are
+    // merely due wait for the nightly run
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (resumeOnStartup && hasInterruptedRun()) {
+            log.info("Resuming interrupted recurring booking materialization after restart");
+            Thread.ofVirtual().name("recurring-resume").start(this::run);
+        }
+    }
+
+    public boolean hasInterruptedRun() {
+        Long open = jdbcTemplate.queryForObject(INTERRUPTED_RUNS_SQL, Long.class);
+        return open != null && open > 0;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public RecurringRunReport getLastReport() {
+        return lastReport;
+    }
+
+    public RecurringRunReport run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Recurring bookings are already being processed");
+        }
+        try {
+            long runId = markRunStarted();
+            RecurringRunReport report = materialize();
+            jdbcTemplate.update(RUN_FINISHED_SQL, Timestamp.valueOf(LocalDateTime.now()), runId);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Committed before any bookings, so a crash leaves the marker open
+    private long markRunStarted() {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(RUN_STARTED_SQL, new String[] {"id"});
+            ps.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private RecurringRunReport materialize() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        LocalDate today = startedAt.toLocalDate();
+
+        Map<Long, List<RecurringRule>> byRoom = new HashMap<>();
+        List<RecurringRule> dueRules = recurringRuleRepository.findDueForMaterialization(today);
+        for (RecurringRule rule : dueRules) {
+            byRoom.computeIfAbsent(rule.getRoom().getId(), k -> new ArrayList<>()).add(rule);
+        }
+        log.info("Processing {} recurring rules across {} rooms", dueRules.size(), byRoom.size());
+
+        // Closing the executor waits for every partition
+        Map<Long, Future<RoomResult>> futures = new HashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            byRoom.forEach((roomId, rules) ->
+                    futures.put(roomId, executor.submit(() -> processRoom(rules, today))));
+        }
+
+        long created = 0;
+        long skipped = 0;
+        long conflicted = 0;
+        int failedRules = 0;
+        long slowestNanos = 0;
+        for (Map.Entry<Long, Future<RoomResult>> partition : futures.entrySet()) {
+            try {
+                RoomResult result = partition.getValue().get();
+                created += result.created();
+                skipped += result.skipped();
+                conflicted += result.conflicted();
+                failedRules += result.failedRules();
+                slowestNanos = Math.max(slowestNanos, result.nanos());
+            } catch (ExecutionException e) {
+                failedRules += byRoom.get(partition.getKey()).size();
+                log.error("Failed to process recurring rules of room {}: {}",
+                        partition.getKey(), e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Recurring booking run was interrupted");
+            }
+        }
+
+        RecurringRunReport report = new RecurringRunReport(startedAt,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), dueRules.size(), byRoom.size(),
+                created, skipped, conflicted, failedRules, TimeUnit.NANOSECONDS.toMillis(slowestNanos));
+        lastReport = report;
+        log.info("Recurring bookings processed: {}", report);
+        return report;
+    }
+
+    // One room: generate the uncovered occurrences, drop conflicts, insert in chunks
+    private RoomResult processRoom(List<RecurringRule> rules, LocalDate today)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        int failedRules = 0;
+
+        List<Materialization> runs = new ArrayList<>();
+        List<Booking> candidates = new ArrayList<>();
+        for (RecurringRule rule : rules) {
+            try {
+                RecurrencePattern pattern = RecurrencePattern.compile(rule);
+                int horizon = rule.getHorizonDays() != null ? rule.getHorizonDays() : horizonDays;
+                LocalDate from = rule.getMaterializedThrough() != null
+                        && !rule.getMaterializedThrough().isBefore(today)
+                        ? rule.getMaterializedThrough().plusDays(1) : today;
+                LocalDate through = today.plusDays(horizon);
+
+                Iterator<LocalDate> dates = pattern.occurrences(from, through);
+                while (dates.hasNext()) {
+                    candidates.add(toBooking(rule, dates.next()));
+                }
+                LocalDate next = pattern.next(through.plusDays(1));
+                runs.add(new Materialization(rule, through, next != null ? next.minusDays(horizon) : null));
+            } catch (RuntimeException e) {
+                failedRules++;
+                log.error("Failed to process recurring rule ID {}: {}", rule.getId(), e.getMessage());
+            }
+        }
+
+        List<BookingInterval> existing = List.of();
+        if (!candidates.isEmpty()) {
+            Set<LocalDate> dates = new HashSet<>();
+            candidates.forEach(booking -> dates.add(booking.getBookingDate()));
+            Long roomId = rules.get(0).getRoom().getId();
+            existing = withPermit(() -> bookingRepository.findIntervalsOn(Set.of(roomId), dates));
+        }
+        Sweep sweep = withoutConflicts(candidates, existing);
+
+        Map<Long, List<Booking>> byRule = new HashMap<>();
+        for (Booking booking : sweep.survivors()) {
+            byRule.computeIfAbsent(booking.getRecurringRule().getId(), k -> new ArrayList<>()).add(booking);
+        }
+
+        // A rule's occurrences are never split across chunks, so a failed chunk
+        // leaves its rules' watermarks untouched and the next run retries them
+        int created = 0;
+        List<Materialization> chunkRuns = new ArrayList<>();
+        List<Booking> chunk = new ArrayList<>();
+        for (int i = 0; i < runs.size(); i++) {
+            Materialization run = runs.get(i);
+            chunkRuns.add(run);
+            chunk.addAll(byRule.getOrDefault(run.rule().getId(), List.of()));
+            if (chunk.size() >= chunkSize || i == runs.size() - 1) {
+                try {
+                    created += withPermit(() -> transactionTemplate.execute(status -> insertChunk(chunk, chunkRuns)));
+                } catch (RuntimeException e) {
+                    failedRules += chunkRuns.size();
+                    log.error("Failed to create {} recurring bookings for {} rules: {}", chunk.size(),
+                            chunkRuns.size(), e.getMessage(), e);
+                }
+                chunkRuns.clear();
+                chunk.clear();
+            }
+        }
+
+        return new RoomResult(created, sweep.skipped(), sweep.conflicted(), failedRules, System.nanoTime() - started);
+    }
+
+    // Database work holds a permit, so partitions never exhaust the connection pool
+    private <T> T withPermit(Supplier<T> work) throws InterruptedException {
+        dbPermits.acquire();
+        try {
+            return work.get();
+        } finally {
+            dbPermits.release();
+        }
+    }
+
+    // Unsaved booking for one occurrence of a rule
+    private static Booking toBooking(RecurringRule rule, LocalDate date) {
+        Booking booking = new Booking();
+        booking.setRoom(rule.getRoom());
+        booking.setUser(rule.getUser());
+        booking.setMeetingTitle(rule.getMeetingTitle());
+        booking.setDescription(rule.getDescription());
+        booking.setBookingDate(date);
+        booking.setStartTime(rule.getStartTime());
+        booking.setEndTime(rule.getEndTime());
+        booking.setAttendeesCount(rule.getAttendeesCount());
+        booking.setStatus(BookingStatus.PENDING); // Still needs admin approval
+        booking.setRecurringRule(rule);
+        return booking;
+    }
+
+    // Drops occurrences (all in one room) whose slot is taken (the unique room/date/start
+    // key, which also covers occurrences created by earlier runs) or that overlap an
+    // approved booking. Per day, approved intervals are merged and swept in start order.
+    private static Sweep withoutConflicts(List<Booking> candidates, List<BookingInterval> existing) {
+        Set<Slot> taken = new HashSet<>();
+        Map<LocalDate, List<BookingInterval>> approved = new HashMap<>();
+        for (BookingInterval interval : existing) {
+            taken.add(new Slot(interval.bookingDate(), interval.startTime()));
+            if (interval.status() == BookingStatus.APPROVED) {
+                approved.computeIfAbsent(interval.bookingDate(), k -> new ArrayList<>()).add(interval);
+            }
+        }
+
+        // The first rule wins when two want the same slot
+        int skipped = 0;
+        Map<LocalDate, List<Booking>> byDay = new HashMap<>();
+        for (Booking booking : candidates) {
+            if (taken.add(new Slot(booking.getBookingDate(), booking.getStartTime()))) {
+                byDay.computeIfAbsent(booking.getBookingDate(), k -> new ArrayList<>()).add(booking);
+            } else {
+                skipped++;
+            }
+        }
+
+        int conflicted = 0;
+        List<Booking> survivors = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<Booking>> day : byDay.entrySet()) {
+            List<LocalTime[]> busy = merge(approved.getOrDefault(day.getKey(), List.of()));
+            List<Booking> bookings = day.getValue();
+            bookings.sort(Comparator.comparing(Booking::getStartTime));
+            int next = 0;
+            for (Booking booking : bookings) {
+                while (next < busy.size() && !busy.get(next)[1].isAfter(booking.getStartTime())) {
+                    next++;
+                }
+                if (next < busy.size() && busy.get(next)[0].isBefore(booking.getEndTime())) {
+                    log.debug("Conflict detected for recurring booking on {}, skipping", day.getKey());
+                    conflicted++;
+                    continue;
+                }
+                survivors.add(booking);
+            }
+        }
+
+        survivors.sort(Comparator.comparing(Booking::getBookingDate).thenComparing(Booking::getStartTime));
+        return new Sweep(survivors, skipped, conflicted);
+    }
+
+    // Disjoint [start, end] intervals covering the given ones, in start order
+    private static List<LocalTime[]> merge(List<BookingInterval> intervals) {
+        List<BookingInterval> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(BookingInterval::startTime));
+        List<LocalTime[]> merged = new ArrayList<>();
+        for (BookingInterval interval : sorted) {
+            LocalTime[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && !interval.startTime().isAfter(last[1])) {
+                if (interval.endTime().isAfter(last[1])) {
+                    last[1] = interval.endTime();
+                }
+            } else {
+                merged.add(new LocalTime[] {interval.startTime(), interval.endTime()});
+            }
+        }
+        return merged;
+    }
+
+    // One JDBC batch per chunk; IDENTITY ids keep Hibernate from batching these inserts.
+    // Watermarks move first: a rule another run has already advanced updates no row,
+    // and its occurrences are left to that run. Returns the number of bookings inserted.
+    private int insertChunk(List<Booking> chunk, List<Materialization> runs) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated = jdbcTemplate.batchUpdate(WATERMARK_SQL, runs, runs.size(), (ps, run) -> {
+            ps.setObject(1, run.through());
+            ps.setObject(2, run.dueOn(), Types.DATE);
+            ps.setLong(3, run.rule().getId());
+            ps.setObject(4, run.rule().getMaterializedThrough(), Types.DATE);
+        })[0];
+        Set<Long> lost = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                lost.add(runs.get(i).rule().getId());
+            }
+        }
+        List<Booking> inserts = chunk;
+        if (!lost.isEmpty()) {
+            log.info("Skipping {} recurring rules already materialized by another run", lost.size());
+            inserts = chunk.stream().filter(booking -> !lost.contains(booking.getRecurringRule().getId())).toList();
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, booking) -> {
+                ps.setLong(1, booking.getRoom().getId());
+                ps.setLong(2, booking.getUser().getId());
+                ps.setString(3, booking.getMeetingTitle());
+                ps.setString(4, booking.getDescription());
+                ps.setObject(5, booking.getBookingDate());
+                ps.setObject(6, booking.getStartTime());
+                ps.setObject(7, booking.getEndTime());
+                if (booking.getAttendeesCount() != null) {
+                    ps.setInt(8, booking.getAttendeesCount());
+                } else {
+                    ps.setNull(8, Types.INTEGER);
+                }
+                ps.setString(9, booking.getStatus().name());
+                ps.setLong(10, booking.getRecurringRule().getId());
+                ps.setTimestamp(11, now);
+                ps.setTimestamp(12, now);
+            });
+        }
+
+        Map<Long, List<Booking>> byRule = new HashMap<>();
+        for (Booking booking : inserts) {
+            bookingAnalyticsStore.bookingCreated(booking);
+            roomUtilizationService.invalidate(booking);
+            byRule.computeIfAbsent(booking.getRecurringRule().getId(), k -> new ArrayList<>()).add(booking);
+        }
+        // One notice per rule rather than one email per occurrence
+        byRule.values().forEach(emailService::sendRecurringBookingsCreatedEmail);
+        log.debug("Created {} bookings from {} recurring rules", inserts.size(), runs.size() - lost.size());
+        return inserts.size();
+    }
+
+    // Where a rule's watermark moves once its new bookings are committed
+    private record Materialization(RecurringRule rule, LocalDate through, LocalDate dueOn) {}
+
+    private record Slot(LocalDate date, LocalTime startTime) {}
+
+    private record Sweep(List<Booking> survivors, int skipped, int conflicted) {}
+
+    private record RoomResult(long created, long skipped, long conflicted, int failedRules, long nanos) {}
+}
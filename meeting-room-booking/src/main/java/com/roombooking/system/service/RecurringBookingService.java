@@ -1,12 +1,11 @@
 package com.roombooking.system.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roombooking.system.dto.BookingSlot;
 import com.roombooking.system.dto.RecurringBookingRequest;
 import com.roombooking.system.dto.RecurringBookingResponse;
-import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.dto.RecurringPreviewResponse;
+import com.roombooking.system.dto.RecurringRunReport;
 import com.roombooking.system.enums.RecurrenceFrequency;
-import com.roombooking.system.model.Booking;
 import com.roombooking.system.model.RecurringRule;
 import com.roombooking.system.model.Room;
 import com.roombooking.system.model.User;
@@ -14,14 +13,16 @@ import com.roombooking.system.repository.BookingRepository;
 import com.roombooking.system.repository.RecurringRuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,12 +34,54 @@ public class RecurringBookingService {
     private final BookingRepository bookingRepository;
     private final RoomService roomService;
     private final UserService userService;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecurringBookingMaterializer recurringBookingMaterializer;
 
     @Transactional
     public RecurringBookingResponse createRecurringBooking(RecurringBookingRequest request) {
         log.info("Creating recurring booking for user ID: {}", request.userId());
 
+        RecurringRule rule = toRule(request);
+        rule.setMaterializeDueOn(LocalDate.now()); // First bookings are created on the next run
+
+        RecurringRule savedRule = recurringRuleRepository.save(rule);
+        log.info("Recurring rule created with ID: {}", savedRule.getId());
+
+        return mapToResponse(savedRule, 0);
+    }
+
+    // Dry run: the occurrences of the proposed rule that overlap approved bookings.
+    // The room's approved bookings for the whole span come from one range query and
+    // are swept against the occurrences, both in date order, in a single pass.
+    public RecurringPreviewResponse previewRecurringBooking(RecurringBookingRequest request) {
+        RecurringRule rule = toRule(request);
+
+        List<BookingSlot> approved = new ArrayList<>(bookingRepository.findApprovedSlotsForRooms(
+                List.of(rule.getRoom().getId()), rule.getStartDate(), rule.getEndDate()));
+        approved.sort(Comparator.comparing(BookingSlot::bookingDate));
+
+        int occurrences = 0;
+        List<LocalDate> conflicts = new ArrayList<>();
+        int next = 0;
+        Iterator<LocalDate> dates = RecurrencePattern.compile(rule).occurrences(rule.getStartDate(), rule.getEndDate());
+        while (dates.hasNext()) {
+            LocalDate date = dates.next();
+            occurrences++;
+            while (next < approved.size() && approved.get(next).bookingDate().isBefore(date)) {
+                next++;
+            }
+            for (int i = next; i < approved.size() && approved.get(i).bookingDate().equals(date); i++) {
+                BookingSlot slot = approved.get(i);
+                if (slot.startTime().isBefore(rule.getEndTime()) && slot.endTime().isAfter(rule.getStartTime())) {
+                    conflicts.add(date);
+                    break;
+                }
+            }
+        }
+        return new RecurringPreviewResponse(occurrences, conflicts);
+    }
+
+    // Validated, unsaved rule for the request
+    private RecurringRule toRule(RecurringBookingRequest request) {
         // Validate dates
         if (!request.endDate().isAfter(request.startDate())) {
             throw new RuntimeException("End date must be after start date");
@@ -60,7 +103,6 @@ public class RecurringBookingService {
             }
         }
 
-        // Create recurring rule
         RecurringRule rule = new RecurringRule();
         rule.setUser(user);
         rule.setRoom(room);
@@ -73,20 +115,13 @@ public class RecurringBookingService {
         rule.setFrequency(request.frequency());
         rule.setAttendeesCount(request.attendeesCount());
         rule.setIsActive(true);
+        rule.setHorizonDays(request.horizonDays());
 
-        // Convert days of week to JSON string
+        // Store days of week as a bitmask (bit 0 = Monday)
         if (request.daysOfWeek() != null && !request.daysOfWeek().isEmpty()) {
-            try {
-                rule.setDaysOfWeek(objectMapper.writeValueAsString(request.daysOfWeek()));
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException("Failed to process days of week");
-            }
+            rule.setDaysOfWeekMask(RecurrencePattern.toMask(request.daysOfWeek()));
         }
-
-        RecurringRule savedRule = recurringRuleRepository.save(rule);
-        log.info("Recurring rule created with ID: {}", savedRule.getId());
-
-        return mapToResponse(savedRule, 0);
+        return rule;
     }
 
     @Transactional
@@ -105,147 +140,50 @@ public class RecurringBookingService {
 
         // Soft delete
         rule.setIsActive(false);
+        rule.setMaterializeDueOn(null);
         recurringRuleRepository.save(rule);
         log.info("Recurring rule deactivated: {}", ruleId);
     }
 
     public List<RecurringBookingResponse> getMyRecurringBookings(Long userId) {
         log.info("Fetching recurring bookings for user ID: {}", userId);
-        User user = userService.getUserById(userId);
-        
-        return recurringRuleRepository.findByUserAndIsActiveTrue(user).stream()
-                .map(rule -> {
-                    int bookingsCount = countBookingsForRule(rule.getId());
-                    return mapToResponse(rule, bookingsCount);
-                })
+        userService.getUserById(userId);
+
+        List<RecurringRule> rules = recurringRuleRepository.findActiveByUserId(userId);
+        if (rules.isEmpty()) {
+            return List.of();
+        }
+
+        // One grouped count for all rules instead of a scan per rule
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : bookingRepository.countGroupedByRecurringRule(
+                rules.stream().map(RecurringRule::getId).toList())) {
+            counts.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return rules.stream()
+                .map(rule -> mapToResponse(rule, counts.getOrDefault(rule.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
     public RecurringBookingResponse getRecurringBookingById(Long ruleId) {
         RecurringRule rule = recurringRuleRepository.findById(ruleId)
                 .orElseThrow(() -> new RuntimeException("Recurring rule not found"));
-        int bookingsCount = countBookingsForRule(ruleId);
-        return mapToResponse(rule, bookingsCount);
+        return mapToResponse(rule, countBookingsForRule(ruleId));
     }
 
-    // Scheduled job to create bookings from recurring rules
-    // Runs every day at 2 AM
-    @Scheduled(cron = "0 0 2 * * *")
-    @Transactional
-    public void processRecurringBookings() {
-        log.info("Starting scheduled job to process recurring bookings");
-
-        LocalDate today = LocalDate.now();
-        LocalDate endDate = today.plusDays(7); // Create bookings for next 7 days
-
-        List<RecurringRule> activeRules = recurringRuleRepository.findActiveRulesForDate(today);
-        log.info("Found {} active recurring rules", activeRules.size());
-
-        int bookingsCreated = 0;
-
-        for (RecurringRule rule : activeRules) {
-            try {
-                List<LocalDate> datesToBook = calculateBookingDates(rule, today, endDate);
-                
-                for (LocalDate date : datesToBook) {
-                    // Check if booking already exists
-                    List<Booking> existing = bookingRepository.findByRoomAndBookingDate(rule.getRoom(), date);
-                    boolean alreadyExists = existing.stream()
-                            .anyMatch(b -> b.getRecurringRule() != null && 
-                                          b.getRecurringRule().getId().equals(rule.getId()) &&
-                                          b.getStartTime().equals(rule.getStartTime()));
-
-                    if (!alreadyExists) {
-                        createBookingFromRule(rule, date);
-                        bookingsCreated++;
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Failed to process recurring rule ID {}: {}", rule.getId(), e.getMessage());
-            }
-        }
-
-        log.info("Scheduled job completed. Created {} bookings", bookingsCreated);
-    }
-
-    // Calculate which dates to create bookings for based on frequency
-    private List<LocalDate> calculateBookingDates(RecurringRule rule, LocalDate start, LocalDate end) {
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate current = start.isBefore(rule.getStartDate()) ? rule.getStartDate() : start;
-
-        while (!current.isAfter(end) && !current.isAfter(rule.getEndDate())) {
-            if (shouldCreateBookingOnDate(rule, current)) {
-                dates.add(current);
-            }
-            current = current.plusDays(1);
-        }
-
-        return dates;
+    // Materialize due rules now; the nightly run is scheduled by the materializer
+    public RecurringRunReport processRecurringBookings() {
+        return recurringBookingMaterializer.run();
     }
 
-    // Check if booking should be created on a specific date
-    private boolean shouldCreateBookingOnDate(RecurringRule rule, LocalDate date) {
-        return switch (rule.getFrequency()) {
-            case DAILY -> true;
-            case WEEKLY -> {
-                if (rule.getDaysOfWeek() == null) {
-                    yield false;
-                }
-                try {
-                    List<Integer> days = objectMapper.readValue(rule.getDaysOfWeek(), List.class);
-                    int dayOfWeek = date.getDayOfWeek().getValue(); // 1=Monday, 7=Sunday
-                    yield days.contains(dayOfWeek);
-                } catch (JsonProcessingException e) {
-                    log.error("Failed to parse days of week: {}", e.getMessage());
-                    yield false;
-                }
-            }
-            case MONTHLY -> date.getDayOfMonth() == rule.getStartDate().getDayOfMonth();
-        };
-    }
-
-    // Create a booking from recurring rule
-    private void createBookingFromRule(RecurringRule rule, LocalDate date) {
-        log.info("Creating booking from rule ID: {} for date: {}", rule.getId(), date);
-
-        // Check for conflicts
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                rule.getRoom().getId(),
-                date,
-                rule.getStartTime(),
-                rule.getEndTime()
-        );
-
-        if (!conflicts.isEmpty()) {
-            log.warn("Conflict detected for recurring booking on {}, skipping", date);
-            return;
-        }
-
-        Booking booking = new Booking();
-        booking.setRoom(rule.getRoom());
-        booking.setUser(rule.getUser());
-        booking.setMeetingTitle(rule.getMeetingTitle());
-        booking.setDescription(rule.getDescription());
-        booking.setBookingDate(date);
-        booking.setStartTime(rule.getStartTime());
-        booking.setEndTime(rule.getEndTime());
-        booking.setAttendeesCount(rule.getAttendeesCount());
-        booking.setStatus(BookingStatus.PENDING); // Still needs admin approval
-        booking.setRecurringRule(rule);
-
-        bookingRepository.save(booking);
-        log.info("Booking created from recurring rule");
+    public RecurringRunReport getLastRunReport() {
+        return recurringBookingMaterializer.getLastReport();
     }
 
     // Count how many bookings created from this rule
     private int countBookingsForRule(Long ruleId) {
-        RecurringRule rule = recurringRuleRepository.findById(ruleId).orElse(null);
-        if (rule == null) return 0;
-        
-        List<Booking> bookings = bookingRepository.findByRoom(rule.getRoom());
-        return (int) bookings.stream()
-                .filter(b -> b.getRecurringRule() != null && b.getRecurringRule().getId().equals(ruleId))
-                .count();
+        List<Object[]> rows = bookingRepository.countGroupedByRecurringRule(List.of(ruleId));
+        return rows.isEmpty() ? 0 : ((Number) rows.get(0)[1]).intValue();
     }
 
     // Helper method to map entity to response
@@ -263,10 +201,12 @@ public class RecurringBookingService {
                 rule.getStartTime(),
                 rule.getEndTime(),
                 rule.getFrequency(),
-                rule.getDaysOfWeek(),
+                rule.getDaysOfWeekMask() != null ? RecurrencePattern.toDays(rule.getDaysOfWeekMask()) : null,
                 rule.getAttendeesCount(),
                 rule.getIsActive(),
+                rule.getHorizonDays() != null ? rule.getHorizonDays() : recurringBookingMaterializer.getHorizonDays(),
+                rule.getMaterializedThrough(),
                 bookingsCreated
         );
     }
-}
\ No newline at end of file
+}
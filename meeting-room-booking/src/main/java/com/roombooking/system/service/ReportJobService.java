@@ -0,0 +1,212 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.ReportJobResponse;
+import com.roombooking.system.dto.ReportRequest;
+import com.roombooking.system.enums.ReportJobStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs PDF report generation off the request thread on the bounded reportExecutor.
+// Finished files are kept on local disk for a TTL so repeat downloads are served
+// from the file, and identical requests share one job while it is queued/running.
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private final ReportService reportService;
+    private final Executor reportExecutor;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportRequest, ReportJob> jobsByRequest = new ConcurrentHashMap<>();
+
+    @Value("${report.jobs.dir:${java.io.tmpdir}/room-booking-reports}")
+    private String jobsDir;
+
+    @Value("${report.jobs.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    private Path storageDir;
+
+    public ReportJobService(ReportService reportService,
+                            @Qualifier("reportExecutor") Executor reportExecutor) {
+        this.reportService = reportService;
+        this.reportExecutor = reportExecutor;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        storageDir = Paths.get(jobsDir);
+        Files.createDirectories(storageDir);
+
+        // Job state is in memory, so files left from a previous run are orphans
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(storageDir, "*.{pdf,part}")) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+    }
+
+    public ReportJobResponse submit(ReportRequest request, String filename) {
+        reportService.validateReportRequest(request);
+
+        // Reuse an in-flight or still-fresh job for the identical request
+        ReportJob job = jobsByRequest.compute(request, (key, existing) ->
+                existing != null && existing.isReusable() ? existing : newJob(key, filename));
+
+        if (job.status == ReportJobStatus.QUEUED && job.submitted.compareAndSet(false, true)) {
+            try {
+                reportExecutor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                job.fail("Report queue is full, please try again later");
+                throw new RuntimeException("Report queue is full, please try again later");
+            }
+        }
+        return job.toResponse();
+    }
+
+    public ReportJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    // Path of the finished PDF for a completed job
+    public Path getReportFile(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.status != ReportJobStatus.COMPLETED) {
+            throw new RuntimeException("Report is not ready yet (status: " + job.status + ")");
+        }
+        return job.file;
+    }
+
+    // Drop expired jobs and their files
+    @Scheduled(fixedDelay = 5 * 60 * 1000)
+    public void evictExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.values().removeIf(job -> {
+            if (!job.isExpired(now)) {
+                return false;
+            }
+            jobsByRequest.remove(job.request, job);
+            deleteQuietly(job.file);
+            return true;
+        });
+    }
+
+    private ReportJob newJob(ReportRequest request, String filename) {
+        String jobId = UUID.randomUUID().toString();
+        ReportJob job = new ReportJob(jobId, request, filename, storageDir.resolve(jobId + ".pdf"));
+        jobs.put(jobId, job);
+        log.info("Queued report job {} for {} to {}", jobId, request.startDate(), request.endDate());
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        job.status = ReportJobStatus.RUNNING;
+        Path partial = job.file.resolveSibling(job.jobId + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                reportService.writeBookingsReport(job.request, out, (written, total) -> {
+                    job.rowsWritten = written;
+                    job.totalRows = total;
+                });
+            }
+            Files.move(partial, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.complete(LocalDateTime.now().plusMinutes(ttlMinutes));
+            log.info("Report job {} completed with {} rows", job.jobId, job.rowsWritten);
+        } catch (Exception e) {
+            log.error("Report job {} failed: {}", job.jobId, e.getMessage(), e);
+            deleteQuietly(partial);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Report job not found or expired");
+        }
+        return job;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete report file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class ReportJob {
+
+        final String jobId;
+        final ReportRequest request;
+        final String filename;
+        final Path file;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final AtomicBoolean submitted = new AtomicBoolean();
+
+        volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        volatile long rowsWritten;
+        volatile long totalRows;
+        volatile String error;
+        volatile LocalDateTime completedAt;
+        volatile LocalDateTime expiresAt;
+
+        ReportJob(String jobId, ReportRequest request, String filename, Path file) {
+            this.jobId = jobId;
+            this.request = request;
+            this.filename = filename;
+            this.file = file;
+        }
+
+        void complete(LocalDateTime expiresAt) {
+            this.completedAt = LocalDateTime.now();
+            this.expiresAt = expiresAt;
+            this.status = ReportJobStatus.COMPLETED;
+        }
+
+        void fail(String message) {
+            this.error = message;
+            this.completedAt = LocalDateTime.now();
+            // Keep failures around briefly so pollers can see the error
+            this.expiresAt = completedAt.plus(Duration.ofMinutes(5));
+            this.status = ReportJobStatus.FAILED;
+        }
+
+        boolean isReusable() {
+            return status == ReportJobStatus.QUEUED || status == ReportJobStatus.RUNNING
+                    || (status == ReportJobStatus.COMPLETED && !isExpired(LocalDateTime.now()));
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && now.isAfter(expiresAt);
+        }
+
+        ReportJobResponse toResponse() {
+            int progress = switch (status) {
+                case COMPLETED -> 100;
+                case QUEUED -> 0;
+                default -> totalRows > 0 ? (int) Math.min(99, rowsWritten * 100 / totalRows) : 0;
+            };
+            return new ReportJobResponse(jobId, status, progress, rowsWritten, totalRows, filename,
+                    error, createdAt, completedAt, expiresAt);
+        }
+    }
+}
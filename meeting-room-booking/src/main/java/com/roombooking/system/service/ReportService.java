@@ -1,28 +1,28 @@
 package com.roombooking.system.service;
 
 import com.roombooking.system.dto.AnalyticsSummary;
+import com.roombooking.system.dto.BookingReportRow;
 import com.roombooking.system.dto.ReportRequest;
 import com.roombooking.system.dto.RoomUtilizationStats;
-import com.roombooking.system.enums.BookingStatus;
-import com.roombooking.system.model.Booking;
-import com.roombooking.system.model.Room;
 import com.roombooking.system.repository.BookingRepository;
-import com.roombooking.system.repository.RoomRepository;
-import com.roombooking.system.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,55 +30,53 @@ import java.util.stream.Collectors;
 public class ReportService {
 
     private final BookingRepository bookingRepository;
-    private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final BookingAnalyticsStore bookingAnalyticsStore;
+    private final RoomUtilizationService roomUtilizationService;
 
-    // Generate PDF report for bookings
-    public byte[] generateBookingsReport(ReportRequest request) throws IOException {
-        log.info("Generating PDF report from {} to {}", request.startDate(), request.endDate());
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int PROGRESS_INTERVAL = 500;
+
+    // Page content beyond this is spilled to a PDFBox scratch file on disk
+    @Value("${report.pdf.max-main-memory-bytes:4194304}")
+    private long pdfMaxMainMemoryBytes;
 
-        // Validate dates
+    // Validate report parameters up front, before any bytes are streamed
+    public void validateReportRequest(ReportRequest request) {
         if (request.endDate().isBefore(request.startDate())) {
             throw new RuntimeException("End date must be after start date");
         }
+    }
 
-        // Fetch bookings
-        List<Booking> bookings = bookingRepository.findByDateRange(request.startDate(), request.endDate());
+    // Stream a PDF report for bookings straight to the given output stream.
+    // Rows are read through a forward-only cursor and page content is buffered
+    // in PDFBox's scratch file, so heap use does not grow with the row count.
+    @Transactional(readOnly = true)
+    public void writeBookingsReport(ReportRequest request, OutputStream out) throws IOException {
+        writeBookingsReport(request, out, (written, total) -> { });
+    }
 
-        // Apply filters
-        if (request.userId() != null) {
-            bookings = bookings.stream()
-                    .filter(b -> b.getUser().getId().equals(request.userId()))
-                    .collect(Collectors.toList());
-        }
+    // Same as above, reporting rows written so far to the listener (used by report jobs)
+    @Transactional(readOnly = true)
+    public void writeBookingsReport(ReportRequest request, OutputStream out,
+                                    ReportProgressListener listener) throws IOException {
+        log.info("Generating PDF report from {} to {}", request.startDate(), request.endDate());
+        validateReportRequest(request);
 
-        if (request.roomId() != null) {
-            bookings = bookings.stream()
-                    .filter(b -> b.getRoom().getId().equals(request.roomId()))
-                    .collect(Collectors.toList());
-        }
+        long total = bookingRepository.countReportRows(request.startDate(), request.endDate(),
+                request.userId(), request.roomId(), request.status());
+        log.info("Found {} bookings for report", total);
 
-        if (request.status() != null) {
-            bookings = bookings.stream()
-                    .filter(b -> b.getStatus() == request.status())
-                    .collect(Collectors.toList());
+        try (Stream<BookingReportRow> rows = bookingRepository.streamReportRows(request.startDate(),
+                request.endDate(), request.userId(), request.roomId(), request.status())) {
+            createPDF(rows, total, request, out, listener);
         }
-
-        // Sort by date
-        bookings.sort(Comparator.comparing(Booking::getBookingDate)
-                .thenComparing(Booking::getStartTime));
-
-        log.info("Found {} bookings for report", bookings.size());
-
-        return createPDF(bookings, request);
     }
 
     // Create PDF document
-    private byte[] createPDF(List<Booking> bookings, ReportRequest request) throws IOException {
-        PDDocument document = new PDDocument();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-        try {
+    private void createPDF(Stream<BookingReportRow> rows, long total, ReportRequest request,
+                           OutputStream out, ReportProgressListener listener) throws IOException {
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(pdfMaxMainMemoryBytes))) {
             // Add first page
             PDPage page = new PDPage(PDRectangle.A4);
             document.addPage(page);
@@ -93,19 +91,18 @@ public class ReportService {
             contentStream.endText();
 
             // Date range
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
             contentStream.beginText();
             contentStream.setFont(PDType1Font.HELVETICA, 12);
             contentStream.newLineAtOffset(50, 730);
-            contentStream.showText("Period: " + request.startDate().format(formatter) + 
-                                   " to " + request.endDate().format(formatter));
+            contentStream.showText("Period: " + request.startDate().format(DATE_FORMATTER) +
+                                   " to " + request.endDate().format(DATE_FORMATTER));
             contentStream.endText();
 
             // Summary
             contentStream.beginText();
             contentStream.setFont(PDType1Font.HELVETICA, 11);
             contentStream.newLineAtOffset(50, 710);
-            contentStream.showText("Total Bookings: " + bookings.size());
+            contentStream.showText("Total Bookings: " + total);
             contentStream.endText();
 
             // Table header
@@ -139,11 +136,12 @@ public class ReportService {
 
             // Table rows
             contentStream.setFont(PDType1Font.HELVETICA, 9);
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("dd-MMM-yyyy");
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+            listener.onProgress(0, total);
+            long written = 0;
 
-            int rowCount = 0;
-            for (Booking booking : bookings) {
+            Iterator<BookingReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BookingReportRow row = iterator.next();
                 if (yPosition < 50) {
                     // Close current page and create new one
                     contentStream.close();
@@ -158,16 +156,16 @@ public class ReportService {
                 contentStream.newLineAtOffset(margin, yPosition);
                 
                 // Date
-                contentStream.showText(booking.getBookingDate().format(dateFormatter));
+                contentStream.showText(row.bookingDate().format(DATE_FORMATTER));
                 contentStream.newLineAtOffset(80, 0);
                 
                 // Time
-                contentStream.showText(booking.getStartTime().format(timeFormatter) + "-" + 
-                                      booking.getEndTime().format(timeFormatter));
+                contentStream.showText(row.startTime().format(TIME_FORMATTER) + "-" +
+                                      row.endTime().format(TIME_FORMATTER));
                 contentStream.newLineAtOffset(80, 0);
                 
                 // Room (truncate if too long)
-                String roomName = booking.getRoom().getName();
+                String roomName = row.roomName();
                 if (roomName.length() > 12) {
                     roomName = roomName.substring(0, 12) + "..";
                 }
@@ -175,7 +173,7 @@ public class ReportService {
                 contentStream.newLineAtOffset(100, 0);
                 
                 // Meeting title (truncate if too long)
-                String title = booking.getMeetingTitle();
+                String title = row.meetingTitle();
                 if (title.length() > 20) {
                     title = title.substring(0, 20) + "..";
                 }
@@ -183,13 +181,16 @@ public class ReportService {
                 contentStream.newLineAtOffset(150, 0);
                 
                 // Status
-                contentStream.showText(booking.getStatus().toString());
+                contentStream.showText(row.status().toString());
                 
                 contentStream.endText();
 
                 yPosition -= 20;
-                rowCount++;
+                if (++written % PROGRESS_INTERVAL == 0) {
+                    listener.onProgress(written, total);
+                }
             }
+            listener.onProgress(written, total);
 
             // Footer
             contentStream.beginText();
@@ -200,96 +201,23 @@ public class ReportService {
 
             contentStream.close();
 
-            // Save to byte array
-            document.save(baos);
-            log.info("PDF report generated successfully with {} bookings", bookings.size());
-
-        } finally {
-            document.close();
+            document.save(out);
+            log.info("PDF report generated successfully with {} bookings", total);
         }
-
-        return baos.toByteArray();
     }
 
-    // Get analytics summary for dashboard
+    // Get analytics summary for dashboard (served from incrementally maintained counters)
     public AnalyticsSummary getAnalyticsSummary() {
-        log.info("Generating analytics summary");
-
-        List<Booking> allBookings = bookingRepository.findAll();
-        
-        int totalBookings = allBookings.size();
-        int pending = (int) allBookings.stream().filter(b -> b.getStatus() == BookingStatus.PENDING).count();
-        int approved = (int) allBookings.stream().filter(b -> b.getStatus() == BookingStatus.APPROVED).count();
-        int rejected = (int) allBookings.stream().filter(b -> b.getStatus() == BookingStatus.REJECTED).count();
-        int cancelled = (int) allBookings.stream().filter(b -> b.getStatus() == BookingStatus.CANCELLED).count();
-
-        int totalRooms = (int) roomRepository.findByIsActiveTrue().size();
-        int activeUsers = (int) userRepository.findByIsActiveTrue().size();
-
-        // Find most booked room
-        String mostBookedRoom = "N/A";
-        if (!allBookings.isEmpty()) {
-            Map<String, Long> roomBookingCount = allBookings.stream()
-                    .collect(Collectors.groupingBy(
-                            b -> b.getRoom().getName(),
-                            Collectors.counting()
-                    ));
-            mostBookedRoom = Collections.max(roomBookingCount.entrySet(), Map.Entry.comparingByValue())
-                    .getKey();
-        }
-
-        // Find peak booking time
-        String peakTime = "N/A";
-        if (!allBookings.isEmpty()) {
-            Map<String, Long> timeSlotCount = allBookings.stream()
-                    .collect(Collectors.groupingBy(
-                            b -> b.getStartTime().getHour() + ":00",
-                            Collectors.counting()
-                    ));
-            peakTime = Collections.max(timeSlotCount.entrySet(), Map.Entry.comparingByValue())
-                    .getKey();
-        }
-
-        return new AnalyticsSummary(
-                totalBookings,
-                pending,
-                approved,
-                rejected,
-                cancelled,
-                totalRooms,
-                activeUsers,
-                mostBookedRoom,
-                peakTime
-        );
+        return bookingAnalyticsStore.getSummary();
     }
 
-    // Get room utilization statistics
-    public List<RoomUtilizationStats> getRoomUtilization() {
-        log.info("Calculating room utilization statistics");
-
-        List<Room> rooms = roomRepository.findByIsActiveTrue();
-        List<RoomUtilizationStats> stats = new ArrayList<>();
-
-        for (Room room : rooms) {
-            List<Booking> roomBookings = bookingRepository.findByRoom(room);
-            int totalBookings = roomBookings.size();
-            int approvedBookings = (int) roomBookings.stream()
-                    .filter(b -> b.getStatus() == BookingStatus.APPROVED)
-                    .count();
-
-            // Simple utilization calculation (could be more sophisticated)
-            double utilization = totalBookings > 0 ? (approvedBookings * 100.0 / totalBookings) : 0.0;
-
-            stats.add(new RoomUtilizationStats(
-                    room.getId(),
-                    room.getName(),
-                    totalBookings,
-                    approvedBookings,
-                    Math.round(utilization * 100.0) / 100.0
-            ));
-        }
+    // Get room occupancy over a date window, optionally for a single room
+    public List<RoomUtilizationStats> getRoomUtilization(LocalDate startDate, LocalDate endDate, Long roomId) {
+        return roomUtilizationService.getUtilization(startDate, endDate, roomId);
+    }
 
-        stats.sort(Comparator.comparing(RoomUtilizationStats::totalBookings).reversed());
-        return stats;
+    @FunctionalInterface
+    public interface ReportProgressListener {
+        void onProgress(long rowsWritten, long totalRows);
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.model.Booking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Striped locks keyed by (roomId, bookingDate). Approvals for different rooms
+// or days land on different stripes and run in parallel; approvals that could
+// overlap are serialized until their transaction has committed.
+@Component
+public class RoomDayLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public RoomDayLocks(@Value("${booking.lock.stripes:256}") int stripeCount) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // Lock the stripe for this room/day and release it once the current transaction completes
+    public void lockUntilTransactionEnds(Long roomId, LocalDate date) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room/day lock requires an active transaction");
+        }
+
+        ReentrantLock lock = stripeFor(roomId, date);
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    // Lock every room/day touched by these bookings. Stripes are taken in index
+    // order so two overlapping batches can never deadlock on each other.
+    public void lockAllUntilTransactionEnds(Collection<Booking> bookings) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room/day lock requires an active transaction");
+        }
+
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (Booking booking : bookings) {
+            indexes.add(stripeIndex(booking.getRoom().getId(), booking.getBookingDate()));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            ReentrantLock lock = stripes[index];
+            lock.lock();
+            held.add(lock);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    private ReentrantLock stripeFor(Long roomId, LocalDate date) {
+        return stripes[stripeIndex(roomId, date)];
+    }
+
+    private int stripeIndex(Long roomId, LocalDate date) {
+        int h = Objects.hash(roomId, date);
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
@@ -1,6 +1,7 @@
 package com.roombooking.system.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -23,6 +24,8 @@ public class RoomService {
     private final RoomRepository roomRepository;
     private final AuditLogService auditLogService;
     private final UserService userService;
+    private final BookingAnalyticsStore bookingAnalyticsStore;
+    private final RoomUtilizationService roomUtilizationService;
 
     @Transactional
     public RoomResponse createRoom(RoomRequest request, User admin) {
@@ -38,6 +41,7 @@ public class RoomService {
 
         Room savedRoom = roomRepository.save(room);
         log.info("Room created successfully with ID: {}", savedRoom.getId());
+        bookingAnalyticsStore.roomActivated(savedRoom);
 
         // AUDIT LOG with admin user (can be null for system actions)
         auditLogService.logCreate(admin, "ROOM", savedRoom.getId(), savedRoom);
@@ -53,7 +57,7 @@ public class RoomService {
                 .orElseThrow(() -> new RuntimeException("Room not found with ID: " + roomId));
 
         // Store old state for audit
-        String oldState = String.format("name=%s,capacity=%d", room.getName(), room.getCapacity());
+        Map<String, Object> oldState = auditLogService.snapshot(room);
 
         room.setName(request.name());
         room.setCapacity(request.capacity());
@@ -63,6 +67,8 @@ public class RoomService {
 
         Room updatedRoom = roomRepository.save(room);
         log.info("Room updated successfully: {}", updatedRoom.getId());
+        bookingAnalyticsStore.roomRenamed(updatedRoom);
+        roomUtilizationService.invalidateRoom(updatedRoom.getId());
 
         // AUDIT LOG with admin user
         auditLogService.logUpdate(admin, "ROOM", roomId, oldState, updatedRoom);
@@ -78,6 +84,9 @@ public class RoomService {
                 .orElseThrow(() -> new RuntimeException("Room not found with ID: " + roomId));
 
         // Soft delete
+        if (Boolean.TRUE.equals(room.getIsActive())) {
+            bookingAnalyticsStore.roomDeactivated();
+        }
         room.setIsActive(false);
         roomRepository.save(room);
         
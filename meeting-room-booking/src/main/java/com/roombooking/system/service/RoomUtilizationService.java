@@ -0,0 +1,246 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingSlot;
+import com.roombooking.system.dto.RoomUtilizationStats;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Occupancy of rooms over a date window: approved booked minutes clipped to
+// business hours, divided by the business minutes available in the window.
+// Computed from one grouped count and one projection query for all rooms,
+// cached per (window, room) and invalidated after commit on booking changes.
+@Service
+@Slf4j
+public class RoomUtilizationService {
+
+    private static final int MAX_WINDOW_DAYS = 366;
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+
+    private final int openHour;
+    private final int closeHour;
+    private final boolean includeWeekends;
+    private final int maxCacheEntries;
+
+    private final Map<CacheKey, RoomUtilizationStats> cache = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a computation that raced with a booking
+    // change never caches its (possibly stale) result
+    private final AtomicLong version = new AtomicLong();
+
+    public RoomUtilizationService(BookingRepository bookingRepository,
+                                  RoomRepository roomRepository,
+                                  @Value("${utilization.business-hours.start:9}") int openHour,
+                                  @Value("${utilization.business-hours.end:18}") int closeHour,
+                                  @Value("${utilization.include-weekends:false}") boolean includeWeekends,
+                                  @Value("${utilization.cache.max-entries:2000}") int maxCacheEntries) {
+        if (openHour < 0 || closeHour > 24 || openHour >= closeHour) {
+            throw new IllegalArgumentException("Invalid business hours: " + openHour + "-" + closeHour);
+        }
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.openHour = openHour;
+        this.closeHour = closeHour;
+        this.includeWeekends = includeWeekends;
+        this.maxCacheEntries = maxCacheEntries;
+    }
+
+    // Utilization for one room, or for every active room when roomId is null
+    @Transactional(readOnly = true)
+    public List<RoomUtilizationStats> getUtilization(LocalDate startDate, LocalDate endDate, Long roomId) {
+        validateWindow(startDate, endDate);
+
+        List<Room> rooms = roomId == null
+                ? roomRepository.findByIsActiveTrue()
+                : List.of(roomRepository.findById(roomId)
+                        .orElseThrow(() -> new RuntimeException("Room not found with ID: " + roomId)));
+
+        List<RoomUtilizationStats> stats = new ArrayList<>(rooms.size());
+        List<Room> missing = new ArrayList<>();
+        for (Room room : rooms) {
+            RoomUtilizationStats cached = cache.get(new CacheKey(startDate, endDate, room.getId()));
+            if (cached != null) {
+                stats.add(cached);
+            } else {
+                missing.add(room);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long seen = version.get();
+            List<RoomUtilizationStats> computed = compute(startDate, endDate, missing);
+            if (version.get() == seen) {
+                if (cache.size() + computed.size() > maxCacheEntries) {
+                    cache.clear();
+                }
+                computed.forEach(s -> cache.put(new CacheKey(startDate, endDate, s.roomId()), s));
+            }
+            stats.addAll(computed);
+        }
+
+        stats.sort(Comparator.comparingDouble(RoomUtilizationStats::utilizationPercentage).reversed()
+                .thenComparing(RoomUtilizationStats::roomId));
+        return stats;
+    }
+
+    // Drop cached windows containing this booking's room and date; applied after commit
+    public void invalidate(Booking booking) {
+        Long roomId = booking.getRoom().getId();
+        LocalDate date = booking.getBookingDate();
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            cache.keySet().removeIf(key -> key.roomId().equals(roomId)
+                    && !date.isBefore(key.startDate()) && !date.isAfter(key.endDate()));
+        });
+    }
+
+    // Drop every cached window for a room, e.g. after it was renamed
+    public void invalidateRoom(Long roomId) {
+        TransactionCallbacks.afterCommit(() -> {
+            version.incrementAndGet();
+            cache.keySet().removeIf(key -> key.roomId().equals(roomId));
+        });
+    }
+
+    private List<RoomUtilizationStats> compute(LocalDate startDate, LocalDate endDate, List<Room> rooms) {
+        Set<Long> roomIds = new HashSet<>();
+        Map<Long, Accumulator> byRoom = new LinkedHashMap<>();
+        for (Room room : rooms) {
+            roomIds.add(room.getId());
+            byRoom.put(room.getId(), new Accumulator(room.getId(), room.getName()));
+        }
+
+        for (Object[] row : bookingRepository.countByRoomInWindow(roomIds, startDate, endDate)) {
+            Accumulator acc = byRoom.get((Long) row[0]);
+            acc.totalBookings = ((Number) row[1]).intValue();
+            acc.approvedBookings = row[2] == null ? 0 : ((Number) row[2]).intValue();
+        }
+
+        List<BookingSlot> slots = bookingRepository.findApprovedSlotsForRooms(roomIds, startDate, endDate);
+        for (BookingSlot slot : slots) {
+            if (isBusinessDay(slot.bookingDate())) {
+                byRoom.get(slot.roomId()).add(slot);
+            }
+        }
+
+        List<LocalDate> businessDays = businessDays(startDate, endDate);
+        List<RoomUtilizationStats> result = new ArrayList<>(byRoom.size());
+        for (Accumulator acc : byRoom.values()) {
+            result.add(acc.toStats(businessDays));
+        }
+        log.debug("Computed utilization for {} rooms from {} to {} ({} approved slots)",
+                rooms.size(), startDate, endDate, slots.size());
+        return result;
+    }
+
+    private void validateWindow(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new RuntimeException("Start date and end date are required");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new RuntimeException("Start date cannot be after end date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_WINDOW_DAYS) {
+            throw new RuntimeException("Utilization window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+    }
+
+    private boolean isBusinessDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return includeWeekends || (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY);
+    }
+
+    private List<LocalDate> businessDays(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (isBusinessDay(date)) {
+                days.add(date);
+            }
+        }
+        return days;
+    }
+
+    private static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static double percent(long part, long whole) {
+        return whole > 0 ? Math.round(part * 10000.0 / whole) / 100.0 : 0.0;
+    }
+
+    private record CacheKey(LocalDate startDate, LocalDate endDate, Long roomId) {}
+
+    // Booked minutes for one room, bucketed by day and by business hour
+    private final class Accumulator {
+
+        final Long roomId;
+        final String roomName;
+        int totalBookings;
+        int approvedBookings;
+        long bookedMinutes;
+        final Map<LocalDate, Long> minutesByDay = new HashMap<>();
+        final long[] minutesByHour = new long[24];
+
+        Accumulator(Long roomId, String roomName) {
+            this.roomId = roomId;
+            this.roomName = roomName;
+        }
+
+        void add(BookingSlot slot) {
+            int start = Math.max(toMinutes(slot.startTime()), openHour * 60);
+            int end = Math.min(toMinutes(slot.endTime()), closeHour * 60);
+            if (start >= end) {
+                return;
+            }
+            bookedMinutes += end - start;
+            minutesByDay.merge(slot.bookingDate(), (long) (end - start), Long::sum);
+            for (int hour = start / 60; hour * 60 < end; hour++) {
+                int from = Math.max(start, hour * 60);
+                int to = Math.min(end, (hour + 1) * 60);
+                minutesByHour[hour] += to - from;
+            }
+        }
+
+        RoomUtilizationStats toStats(List<LocalDate> businessDays) {
+            long minutesPerDay = (closeHour - openHour) * 60L;
+            long availableMinutes = minutesPerDay * businessDays.size();
+
+            Map<LocalDate, Double> daily = new LinkedHashMap<>();
+            for (LocalDate day : businessDays) {
+                daily.put(day, percent(minutesByDay.getOrDefault(day, 0L), minutesPerDay));
+            }
+
+            Map<Integer, Double> hourly = new LinkedHashMap<>();
+            for (int hour = openHour; hour < closeHour; hour++) {
+                hourly.put(hour, percent(minutesByHour[hour], 60L * businessDays.size()));
+            }
+
+            return new RoomUtilizationStats(
+                    roomId,
+                    roomName,
+                    totalBookings,
+                    approvedBookings,
+                    bookedMinutes,
+                    availableMinutes,
+                    percent(bookedMinutes, availableMinutes),
+                    daily,
+                    hourly
+            );
+        }
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,6 +21,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final BookingAnalyticsStore bookingAnalyticsStore;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -47,6 +50,7 @@ public class UserService {
 
         User savedUser = userRepository.save(user);
         log.info("User registered successfully: {}", savedUser.getUsername());
+        bookingAnalyticsStore.userRegistered();
 
         return new AuthResponse(
                 savedUser.getId(),
@@ -92,8 +96,19 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    // Existence check without loading the user
+    public void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+    }
+
     public User getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
-}
\ No newline at end of file
+
+    public List<User> getAdmins() {
+        return userRepository.findByRoleAndIsActiveTrue(UserRole.ADMIN);
+    }
+}
@@ -0,0 +1,11 @@
+-- Incremental materialization: each rule records how far its bookings have been
+-- generated and the day its next occurrence enters its horizon, so the nightly
+-- job only loads rules that have something new to create
+ALTER TABLE recurring_rules ADD COLUMN horizon_days INTEGER;
+ALTER TABLE recurring_rules ADD COLUMN materialized_through DATE;
+ALTER TABLE recurring_rules ADD COLUMN materialize_due_on DATE;
+
+-- Existing rules are picked up by the next run, which sets their real due date
+UPDATE recurring_rules SET materialize_due_on = CURRENT_DATE WHERE is_active = TRUE;
+
+CREATE INDEX idx_recurring_rules_due ON recurring_rules (materialize_due_on);
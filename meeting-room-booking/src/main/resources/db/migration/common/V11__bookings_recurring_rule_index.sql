@@ -0,0 +1,2 @@
+-- Per-rule booking counts on the recurring bookings page group by this column
+CREATE INDEX IF NOT EXISTS idx_bookings_recurring_rule ON bookings (recurring_rule_id);
@@ -0,0 +1,9 @@
+-- One row per materialization run: stamped when it starts and again when it
+-- finishes, so startup can tell a crashed run from rules that are simply due
+CREATE TABLE recurring_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    started_at TIMESTAMP(6) NOT NULL,
+    finished_at TIMESTAMP(6)
+);
+
+CREATE INDEX idx_recurring_runs_unfinished ON recurring_runs (finished_at);
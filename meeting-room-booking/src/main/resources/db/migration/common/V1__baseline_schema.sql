@@ -0,0 +1,97 @@
+-- Baseline schema, matching what hibernate.ddl-auto=update produced before
+-- migrations were introduced. Existing databases are baselined at this version.
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(100) NOT NULL,
+    department VARCHAR(50),
+    phone VARCHAR(15),
+    role VARCHAR(20) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE rooms (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    capacity INTEGER NOT NULL,
+    floor INTEGER,
+    amenities TEXT,
+    image_url VARCHAR(255),
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE recurring_rules (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    room_id BIGINT NOT NULL,
+    meeting_title VARCHAR(200) NOT NULL,
+    description TEXT,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    frequency VARCHAR(20) NOT NULL,
+    days_of_week VARCHAR(50),
+    attendees_count INTEGER,
+    is_active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_recurring_rules_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_recurring_rules_room FOREIGN KEY (room_id) REFERENCES rooms (id)
+);
+
+CREATE TABLE bookings (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    meeting_title VARCHAR(200) NOT NULL,
+    description TEXT,
+    booking_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    attendees_count INTEGER,
+    status VARCHAR(20) NOT NULL,
+    recurring_rule_id BIGINT,
+    approved_by BIGINT,
+    approved_at TIMESTAMP(6),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_bookings_room_date_start UNIQUE (room_id, booking_date, start_time),
+    CONSTRAINT fk_bookings_room FOREIGN KEY (room_id) REFERENCES rooms (id),
+    CONSTRAINT fk_bookings_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_bookings_recurring_rule FOREIGN KEY (recurring_rule_id) REFERENCES recurring_rules (id),
+    CONSTRAINT fk_bookings_approved_by FOREIGN KEY (approved_by) REFERENCES users (id)
+);
+
+CREATE TABLE file_metadata (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_url TEXT NOT NULL,
+    file_size BIGINT,
+    file_type VARCHAR(50),
+    uploaded_by BIGINT NOT NULL,
+    uploaded_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_file_metadata_booking FOREIGN KEY (booking_id) REFERENCES bookings (id),
+    CONSTRAINT fk_file_metadata_uploaded_by FOREIGN KEY (uploaded_by) REFERENCES users (id)
+);
+
+CREATE TABLE audit_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    action VARCHAR(20) NOT NULL,
+    old_value TEXT,
+    new_value TEXT,
+    ip_address VARCHAR(45),
+    timestamp TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_audit_logs_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
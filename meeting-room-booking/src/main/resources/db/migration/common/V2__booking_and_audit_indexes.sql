@@ -0,0 +1,15 @@
+-- Composite indexes for the booking and audit access paths.
+-- IF NOT EXISTS because older deployments may already have the keyset
+-- indexes that used to be declared on the Booking entity.
+
+-- Keyset pagination over all bookings and per user (also serves findByUser)
+CREATE INDEX IF NOT EXISTS idx_bookings_date_start_id ON bookings (booking_date, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_bookings_user_date_start_id ON bookings (user_id, booking_date, start_time, id);
+
+-- findByStatus / findResponsesByStatus (pending queue, ordered by id)
+CREATE INDEX IF NOT EXISTS idx_bookings_status_id ON bookings (status, id);
+
+-- Audit trail lookups
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp ON audit_logs (timestamp);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity ON audit_logs (entity_type, entity_id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user ON audit_logs (user_id);
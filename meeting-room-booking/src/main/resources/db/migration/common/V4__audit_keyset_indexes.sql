@@ -0,0 +1,13 @@
+-- Indexes for the filtered audit query API, which pages newest first by
+-- (timestamp, id). Each filter column leads a composite that ends in the
+-- sort key, so a filtered page is a short backward index range scan.
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_timestamp_id ON audit_logs (timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_timestamp_id ON audit_logs (user_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_entity_timestamp_id ON audit_logs (entity_type, entity_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_timestamp_id ON audit_logs (action, timestamp, id);
+
+-- Superseded: each is a prefix of one of the composites above
+DROP INDEX IF EXISTS idx_audit_logs_timestamp;
+DROP INDEX IF EXISTS idx_audit_logs_entity;
+DROP INDEX IF EXISTS idx_audit_logs_user;
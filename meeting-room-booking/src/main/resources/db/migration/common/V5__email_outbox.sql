@@ -0,0 +1,18 @@
+-- Transactional outbox for notification emails. Rows are inserted in the
+-- same transaction as the booking change and drained by the dispatcher.
+
+CREATE TABLE email_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient VARCHAR(100) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    sent_at TIMESTAMP(6)
+);
+
+-- Dispatcher poll: due pending rows in id order
+CREATE INDEX idx_email_outbox_status_due ON email_outbox (status, next_attempt_at, id);
@@ -0,0 +1,3 @@
+-- Marks bookings whose meeting reminder has been queued, so the in-memory
+-- reminder schedule can be rebuilt on startup without sending duplicates.
+ALTER TABLE bookings ADD COLUMN reminder_sent_at TIMESTAMP(6);
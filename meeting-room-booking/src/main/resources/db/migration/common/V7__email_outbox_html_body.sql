@@ -0,0 +1,2 @@
+-- HTML alternative for templated notifications (sent as multipart/alternative)
+ALTER TABLE email_outbox ADD COLUMN html_body TEXT;
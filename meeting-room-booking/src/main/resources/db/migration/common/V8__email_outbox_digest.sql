@@ -0,0 +1,6 @@
+-- Digest mode: notifications from digest templates are queued as HELD with a
+-- one-line summary, then folded into one email per recipient
+ALTER TABLE email_outbox ADD COLUMN summary VARCHAR(500);
+
+-- Digest poll: held rows grouped by recipient, oldest first
+CREATE INDEX idx_email_outbox_status_recipient ON email_outbox (status, recipient, created_at);
@@ -0,0 +1,16 @@
+-- Weekly recurrence days as a bitmask (bit 0 = Monday ... bit 6 = Sunday), so
+-- rules can be filtered by weekday with bitwise predicates. Replaces the JSON
+-- list in days_of_week, e.g. [1,3,5] becomes 1 + 4 + 16 = 21.
+ALTER TABLE recurring_rules ADD COLUMN days_of_week_mask INTEGER;
+
+UPDATE recurring_rules SET days_of_week_mask =
+      CASE WHEN days_of_week LIKE '%1%' THEN 1 ELSE 0 END
+    + CASE WHEN days_of_week LIKE '%2%' THEN 2 ELSE 0 END
+    + CASE WHEN days_of_week LIKE '%3%' THEN 4 ELSE 0 END
+    + CASE WHEN days_of_week LIKE '%4%' THEN 8 ELSE 0 END
+    + CASE WHEN days_of_week LIKE '%5%' THEN 16 ELSE 0 END
+    + CASE WHEN days_of_week LIKE '%6%' THEN 32 ELSE 0 END
+    + CASE WHEN days_of_week LIKE '%7%' THEN 64 ELSE 0 END
+WHERE days_of_week IS NOT NULL;
+
+ALTER TABLE recurring_rules DROP COLUMN days_of_week;
@@ -0,0 +1,10 @@
+-- H2 has no partial indexes, so status leads the key instead; the PostgreSQL
+-- variant of this migration indexes APPROVED rows only.
+
+-- findConflictingBookings: room + date + status equality, time overlap on the tail
+CREATE INDEX IF NOT EXISTS idx_bookings_approved_room_date
+    ON bookings (room_id, booking_date, status, start_time, end_time);
+
+-- findUpcomingBookings / findApprovedSlotsFrom: status equality, then date and start time
+CREATE INDEX IF NOT EXISTS idx_bookings_approved_date_start
+    ON bookings (status, booking_date, start_time);
@@ -0,0 +1,10 @@
+-- Partial indexes over APPROVED bookings only: conflict checks, upcoming
+-- reminders and the interval index reload never look at other statuses.
+
+-- findConflictingBookings: room + date equality, time overlap on the tail
+CREATE INDEX IF NOT EXISTS idx_bookings_approved_room_date
+    ON bookings (room_id, booking_date, start_time, end_time) WHERE status = 'APPROVED';
+
+-- findUpcomingBookings / findApprovedSlotsFrom: date equality or range, then start time
+CREATE INDEX IF NOT EXISTS idx_bookings_approved_date_start
+    ON bookings (booking_date, start_time) WHERE status = 'APPROVED';
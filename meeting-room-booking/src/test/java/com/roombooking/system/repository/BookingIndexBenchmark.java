@@ -0,0 +1,338 @@
+package com.roombooking.system.repository;
+
+import com.roombooking.system.dto.BookingFilter;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Query plans and latencies of the booking/audit hot queries on a seeded
+// dataset, first on the V1 baseline schema and then after the index
+// migrations. Runs on H2 in PostgreSQL mode; only with -Pbenchmark.
+// The paged list queries are the SQL and bindings Hibernate generates for
+// findResponsePage, captured from the application context and replayed
+// against the benchmark database.
+@SpringBootTest(properties = "management.health.mail.enabled=false")
+class BookingIndexBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:index-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+    private static final String[] LOCATIONS = {"classpath:db/migration/common", "classpath:db/migration/h2"};
+
+    private static final int ROOMS = 50;
+    private static final int USERS = 200;
+    private static final int DAYS = 365;
+    private static final int SLOTS_PER_DAY = 8;
+    private static final int AUDIT_ROWS = 50_000;
+    private static final int WARMUP = 50;
+    private static final int RUNS = 200;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate PROBE_DAY = FIRST_DAY.plusDays(200);
+    private static final int PAGE_LIMIT = 21;
+
+    // Statements prepared on the capturing thread, with the setter calls that bound them
+    private static final ThreadLocal<List<CapturedQuery>> CAPTURED = new ThreadLocal<>();
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void compareBaselineAndIndexedSchema() throws SQLException {
+        Map<String, CapturedQuery> pages = new LinkedHashMap<>();
+        pages.put("page-first", capturePage(new BookingFilter(null, null, null, null, null), null, null, null));
+        pages.put("page-keyset", capturePage(new BookingFilter(null, null, null, null, null),
+                PROBE_DAY, LocalTime.of(12, 0), 1L));
+        pages.put("page-user-keyset", capturePage(new BookingFilter(42L, null, null, null, null),
+                PROBE_DAY, LocalTime.of(12, 0), 1L));
+
+        try (Connection keepAlive = DriverManager.getConnection(URL, "sa", "")) {
+            flyway().target("1").load().migrate();
+            seed(keepAlive);
+            Map<String, Result> before = measureAll(keepAlive, pages);
+
+            flyway().load().migrate();
+            try (Statement st = keepAlive.createStatement()) {
+                st.execute("ANALYZE");
+            }
+            Map<String, Result> after = measureAll(keepAlive, pages);
+
+            System.out.println();
+            pages.forEach((name, page) -> System.out.println("SQL " + name + ": " + page.sql().replaceAll("\\s+", " ")));
+            System.out.println();
+            System.out.printf("%-22s %12s %12s%n", "query", "before (us)", "after (us)");
+            for (String name : before.keySet()) {
+                System.out.printf("%-22s %12d %12d%n", name, before.get(name).medianMicros, after.get(name).medianMicros);
+            }
+            for (String name : before.keySet()) {
+                System.out.println();
+                System.out.println("== " + name);
+                System.out.println("before: " + before.get(name).plan);
+                System.out.println("after:  " + after.get(name).plan);
+            }
+
+            // Every hot query must reach bookings and audit_logs through an index once
+            // migrated; the page joins may still drive off a scan of the small rooms table
+            after.forEach((name, result) ->
+                    assertThat(result.plan).as(name).doesNotContainPattern("(bookings|audit_logs)\\.tableScan"));
+        }
+    }
+
+    // Runs one page through the repository and returns the single statement it issued
+    private CapturedQuery capturePage(BookingFilter filter, LocalDate afterDate, LocalTime afterTime, Long afterId) {
+        List<CapturedQuery> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            bookingRepository.findResponsePage(filter, afterDate, afterTime, afterId, PAGE_LIMIT);
+        } finally {
+            CAPTURED.remove();
+        }
+        assertThat(captured).hasSize(1);
+        return captured.get(0);
+    }
+
+    private Map<String, Result> measureAll(Connection conn, Map<String, CapturedQuery> pages) throws SQLException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("conflicting", measure(conn,
+                "SELECT id FROM bookings WHERE room_id = ? AND booking_date = ? AND status = 'APPROVED' " +
+                "AND start_time < ? AND end_time > ?",
+                7L, Date.valueOf(PROBE_DAY), Time.valueOf(LocalTime.of(11, 30)), Time.valueOf(LocalTime.of(10, 30))));
+        results.put("by-user", measure(conn,
+                "SELECT id FROM bookings WHERE user_id = ?", 42L));
+        results.put("by-status", measure(conn,
+                "SELECT id FROM bookings WHERE status = 'PENDING' ORDER BY id LIMIT 100"));
+        for (Map.Entry<String, CapturedQuery> page : pages.entrySet()) {
+            results.put(page.getKey(), measure(conn, page.getValue().sql(), page.getValue()::replay));
+        }
+        results.put("audit-by-timestamp", measure(conn,
+                "SELECT id FROM audit_logs WHERE timestamp BETWEEN ? AND ?",
+                Timestamp.valueOf(PROBE_DAY.atStartOfDay()), Timestamp.valueOf(PROBE_DAY.plusDays(1).atStartOfDay())));
+        results.put("audit-by-entity", measure(conn,
+                "SELECT id FROM audit_logs WHERE entity_type = ? AND entity_id = ?", "BOOKING", 1234L));
+        results.put("audit-page-by-user", measure(conn,
+                "SELECT id FROM audit_logs WHERE user_id = ? ORDER BY timestamp DESC, id DESC LIMIT 51", 42L));
+        return results;
+    }
+
+    private Result measure(Connection conn, String sql, Object... params) throws SQLException {
+        return measure(conn, sql, ps -> bind(ps, params));
+    }
+
+    private Result measure(Connection conn, String sql, Binder binder) throws SQLException {
+        String plan;
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN " + sql)) {
+            binder.bind(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                plan = rs.getString(1).replaceAll("\\s+", " ");
+            }
+        }
+
+        long[] timings = new long[RUNS];
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            binder.bind(ps);
+            for (int i = 0; i < WARMUP + RUNS; i++) {
+                long start = System.nanoTime();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getLong(1);
+                    }
+                }
+                if (i >= WARMUP) {
+                    timings[i - WARMUP] = (System.nanoTime() - start) / 1_000;
+                }
+            }
+        }
+        Arrays.sort(timings);
+        return new Result(plan, timings[RUNS / 2]);
+    }
+
+    private void seed(Connection conn) throws SQLException {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String[] statuses = {"APPROVED", "APPROVED", "APPROVED", "PENDING", "REJECTED", "CANCELLED"};
+
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO users (username, email, password, full_name, role, is_active, created_at) " +
+                "VALUES (?, ?, 'secret', ?, 'EMPLOYEE', TRUE, ?)")) {
+            for (int i = 1; i <= USERS; i++) {
+                ps.setString(1, "user" + i);
+                ps.setString(2, "user" + i + "@example.com");
+                ps.setString(3, "User " + i);
+                ps.setTimestamp(4, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO rooms (name, capacity, is_active, created_at) VALUES (?, 10, TRUE, ?)")) {
+            for (int i = 1; i <= ROOMS; i++) {
+                ps.setString(1, "Room " + i);
+                ps.setTimestamp(2, now);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO bookings (room_id, user_id, meeting_title, booking_date, start_time, end_time, " +
+                "status, created_at) VALUES (?, ?, 'Benchmark', ?, ?, ?, ?, ?)")) {
+            int rows = 0;
+            for (int day = 0; day < DAYS; day++) {
+                Date date = Date.valueOf(FIRST_DAY.plusDays(day));
+                for (int room = 1; room <= ROOMS; room++) {
+                    for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                        LocalTime start = LocalTime.of(9 + slot, 0);
+                        ps.setLong(1, room);
+                        ps.setLong(2, 1 + random.nextInt(USERS));
+                        ps.setDate(3, date);
+                        ps.setTime(4, Time.valueOf(start));
+                        ps.setTime(5, Time.valueOf(start.plusMinutes(45)));
+                        ps.setString(6, statuses[random.nextInt(statuses.length)]);
+                        ps.setTimestamp(7, now);
+                        ps.addBatch();
+                        if (++rows % 5_000 == 0) {
+                            ps.executeBatch();
+                        }
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO audit_logs (user_id, entity_type, entity_id, action, timestamp) " +
+                "VALUES (?, 'BOOKING', ?, 'CREATE', ?)")) {
+            for (int i = 0; i < AUDIT_ROWS; i++) {
+                ps.setLong(1, 1 + random.nextInt(USERS));
+                ps.setLong(2, 1 + random.nextInt(DAYS * ROOMS * SLOTS_PER_DAY));
+                ps.setTimestamp(3, Timestamp.valueOf(FIRST_DAY.atStartOfDay().plusMinutes(random.nextInt(DAYS * 24 * 60))));
+                ps.addBatch();
+                if ((i + 1) % 5_000 == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+    }
+
+    private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            ps.setObject(i + 1, params[i]);
+        }
+    }
+
+    private static FluentConfiguration flyway() {
+        return Flyway.configure().dataSource(URL, "sa", "").locations(LOCATIONS);
+    }
+
+    private record Result(String plan, long medianMicros) {}
+
+    private interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    private record CapturedQuery(String sql, List<Binding> bindings) {
+
+        void replay(PreparedStatement ps) throws SQLException {
+            for (Binding binding : bindings) {
+                try {
+                    binding.setter().invoke(ps, binding.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Cannot replay " + binding.setter().getName(), e);
+                }
+            }
+        }
+    }
+
+    private record Binding(Method setter, Object[] args) {}
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        // Wraps the application DataSource so prepared statements can be recorded
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? capturing(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T capturing(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            List<CapturedQuery> captured = CAPTURED.get();
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return capturing(Connection.class, connection);
+            }
+            if (captured != null && result instanceof PreparedStatement ps && method.getName().equals("prepareStatement")) {
+                CapturedQuery query = new CapturedQuery((String) args[0], new ArrayList<>());
+                captured.add(query);
+                return recording(ps, query);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recording(PreparedStatement target, CapturedQuery query) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer) {
+                        query.bindings().add(new Binding(method, args));
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
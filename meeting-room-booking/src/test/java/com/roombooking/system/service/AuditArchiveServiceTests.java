@@ -0,0 +1,129 @@
+package com.roombooking.system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roombooking.system.dto.AuditLogRecord;
+import com.roombooking.system.enums.AuditAction;
+import com.roombooking.system.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditArchiveServiceTests {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 3, 14, 30);
+
+    @TempDir
+    Path archiveDir;
+
+    private final AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+
+    private final AuditArchiveService service =
+            new AuditArchiveService(auditLogRepository, new ObjectMapper().findAndRegisterModules());
+
+    // Two January rows for booking 7 and one February row for booking 8, in id order
+    private final List<AuditLogRecord> chunk = List.of(
+            record(1L, 7L, AuditAction.CREATE, JANUARY),
+            record(2L, 7L, AuditAction.UPDATE, JANUARY.plusDays(1)),
+            record(3L, 8L, AuditAction.CREATE, FEBRUARY));
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ReflectionTestUtils.setField(service, "archiveDir", archiveDir.toString());
+        ReflectionTestUtils.setField(service, "retentionMonths", 6);
+        service.init();
+    }
+
+    @Test
+    void archivesBeforeDeletingAndReadsBack() {
+        when(auditLogRepository.findRecordsBefore(any(), any())).thenReturn(chunk, List.of());
+        // The segments must already hold the rows when they are deleted
+        doAnswer(invocation -> {
+            assertThat(service.readRange(JANUARY.minusDays(1), FEBRUARY.plusDays(1), 10)).isEqualTo(chunk);
+            return null;
+        }).when(auditLogRepository).deleteAllByIdInBatch(anyList());
+
+        service.archiveExpired();
+
+        InOrder order = inOrder(auditLogRepository);
+        order.verify(auditLogRepository).findRecordsBefore(any(), any());
+        order.verify(auditLogRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+        assertThat(archiveDir.resolve("audit-2024-01.jsonl.gz")).exists();
+        assertThat(archiveDir.resolve("audit-2024-02.jsonl.gz")).exists();
+
+        assertThat(service.readRange(JANUARY, JANUARY.plusDays(5), 10)).extracting(AuditLogRecord::id)
+                .containsExactly(1L, 2L);
+        assertThat(service.readEntity("BOOKING", 7L, FEBRUARY)).extracting(AuditLogRecord::id)
+                .containsExactly(1L, 2L);
+        // Reading stops once enough rows are collected
+        assertThat(service.readRange(JANUARY.minusDays(1), FEBRUARY.plusDays(1), 2)).extracting(AuditLogRecord::id)
+                .containsExactly(1L, 2L);
+    }
+
+    // A crash after appending but before deleting archives the chunk again on the next run
+    @Test
+    void readersSkipRowsArchivedTwice() throws IOException {
+        when(auditLogRepository.findRecordsBefore(any(), any())).thenReturn(chunk, chunk, List.of());
+        doAnswer(invocation -> {
+            throw new IllegalStateException("connection lost");
+        }).doAnswer(invocation -> null).when(auditLogRepository).deleteAllByIdInBatch(anyList());
+
+        assertThatThrownBy(service::archiveExpired).hasMessage("connection lost");
+        service.archiveExpired();
+
+        // Each run appended its own gzip member
+        assertThat(lines(archiveDir.resolve("audit-2024-01.jsonl.gz"))).hasSize(4);
+
+        assertThat(service.readRange(JANUARY.minusDays(1), FEBRUARY.plusDays(1), 10)).isEqualTo(chunk);
+        assertThat(service.readEntity("BOOKING", 7L, FEBRUARY)).extracting(AuditLogRecord::id)
+                .containsExactly(1L, 2L);
+        List<Long> streamed = new ArrayList<>();
+        long lastId = service.forEachInRange(JANUARY.minusDays(1), FEBRUARY.plusDays(1), 0,
+                record -> streamed.add(record.id()));
+        assertThat(streamed).containsExactly(1L, 2L, 3L);
+        assertThat(lastId).isEqualTo(3L);
+    }
+
+    @Test
+    void doesNothingWhenNoRowsAreExpired() {
+        when(auditLogRepository.findRecordsBefore(any(), any())).thenReturn(List.of());
+
+        service.archiveExpired();
+
+        assertThat(archiveDir).isEmptyDirectory();
+        assertThat(service.readRange(JANUARY, FEBRUARY, 10)).isEmpty();
+    }
+
+    private static List<String> lines(Path segment) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    private static AuditLogRecord record(Long id, Long entityId, AuditAction action, LocalDateTime timestamp) {
+        return new AuditLogRecord(id, 1L, "admin", "BOOKING", entityId, action, null, "{}", null, timestamp);
+    }
+}
@@ -0,0 +1,67 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "management.health.mail.enabled=false")
+class AuditDiffCodecTests {
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private AuditDiffCodec auditDiffCodec;
+
+    @Test
+    void approvalDiffRoundTripsUnsetAssociations() {
+        Room room = new Room();
+        room.setId(1L);
+        User owner = new User();
+        owner.setId(2L);
+        User admin = new User();
+        admin.setId(3L);
+
+        Booking booking = new Booking();
+        booking.setId(10L);
+        booking.setRoom(room);
+        booking.setUser(owner);
+        booking.setMeetingTitle("Review");
+        booking.setBookingDate(LocalDate.of(2026, 3, 2));
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+
+        Map<String, Object> snapshot = auditDiffCodec.flatten(booking);
+        assertThat(snapshot).containsEntry("approvedById", null).containsEntry("recurringRuleId", null)
+                .doesNotContainKeys("approvedBy", "recurringRule");
+
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setApprovedBy(admin);
+        booking.setApprovedAt(LocalDateTime.of(2026, 3, 1, 12, 0));
+        Map<String, Object> approved = auditDiffCodec.flatten(booking);
+
+        Map<String, Object> diff = auditDiffCodec.diff(snapshot, approved);
+        assertThat(diff).containsOnlyKeys("status", "approvedById", "approvedAt");
+
+        // Replay as rebuildState does: snapshot, then the encoded diff
+        Map<String, Object> state = new LinkedHashMap<>(auditDiffCodec.decode(auditDiffCodec.encode(snapshot)));
+        state.putAll(auditDiffCodec.decode(auditDiffCodec.encode(diff)));
+        assertThat(state).containsOnlyKeys(snapshot.keySet())
+                .containsEntry("approvedById", 3)
+                .containsEntry("status", "APPROVED");
+    }
+}
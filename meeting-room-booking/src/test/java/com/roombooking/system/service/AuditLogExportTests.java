@@ -0,0 +1,108 @@
+package com.roombooking.system.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roombooking.system.dto.AuditLogRecord;
+import com.roombooking.system.enums.AuditAction;
+import com.roombooking.system.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLogExportTests {
+
+    private static final LocalDateTime ARCHIVED = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final LocalDateTime RECENT = LocalDateTime.now().minusHours(1);
+    private static final LocalDateTime START = ARCHIVED.minusDays(1);
+    private static final LocalDateTime END = LocalDateTime.now().plusDays(1);
+
+    @TempDir
+    Path archiveDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AuditLogRepository auditLogRepository = mock(AuditLogRepository.class);
+    private final AuditArchiveService archiveService = new AuditArchiveService(auditLogRepository, objectMapper);
+    private final AuditLogService auditLogService = new AuditLogService(auditLogRepository, objectMapper,
+            mock(AuditLogWriter.class), mock(AuditDiffCodec.class), archiveService, "diff");
+
+    // Ids 1-3 have been archived to January and February 2024; 4 and 5 are still in the database
+    private final List<AuditLogRecord> database = List.of(record(4L, RECENT), record(5L, RECENT.plusMinutes(1)));
+
+    @BeforeEach
+    void archiveOldRows() throws IOException {
+        ReflectionTestUtils.setField(archiveService, "archiveDir", archiveDir.toString());
+        ReflectionTestUtils.setField(archiveService, "retentionMonths", 6);
+        archiveService.init();
+
+        when(auditLogRepository.findRecordsBefore(any(), any())).thenReturn(List.of(
+                record(1L, ARCHIVED),
+                record(2L, ARCHIVED.plusDays(1)),
+                record(3L, ARCHIVED.plusMonths(1))), List.of());
+        archiveService.archiveExpired();
+
+        when(auditLogRepository.streamRecords(any(), any(), anyLong())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(2);
+            return database.stream().filter(r -> r.id() > afterId);
+        });
+    }
+
+    @Test
+    void exportsArchivedThenDatabaseRowsAsNdjson() throws IOException {
+        assertThat(export(START, 0)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        // The database part continues after the last archived id
+        verify(auditLogRepository).streamRecords(START, END, 3L);
+    }
+
+    @Test
+    void resumesInsideTheArchive() throws IOException {
+        assertThat(export(START, 2)).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void resumesPastTheArchive() throws IOException {
+        assertThat(export(START, 4)).containsExactly(5L);
+        verify(auditLogRepository).streamRecords(START, END, 4L);
+    }
+
+    // Windows that start after the retention cutoff never open the archive
+    @Test
+    void skipsTheArchiveForRecentWindows() throws IOException {
+        LocalDateTime recentStart = RECENT.minusDays(1);
+
+        assertThat(export(recentStart, 0)).containsExactly(4L, 5L);
+        verify(auditLogRepository).streamRecords(recentStart, END, 0L);
+    }
+
+    // Ids of the exported lines, checking each line is one complete record
+    private List<Long> export(LocalDateTime start, long afterId) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        auditLogService.writeExport(start, END, afterId, out);
+
+        List<Long> ids = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                ids.add(objectMapper.readValue(line, AuditLogRecord.class).id());
+            }
+        }
+        return ids;
+    }
+
+    private static AuditLogRecord record(Long id, LocalDateTime timestamp) {
+        return new AuditLogRecord(id, 1L, "admin", "BOOKING", id, AuditAction.UPDATE, null, "{}", null, timestamp);
+    }
+}
@@ -0,0 +1,73 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.AuditLogCount;
+import com.roombooking.system.dto.AuditLogFilter;
+import com.roombooking.system.dto.AuditLogPage;
+import com.roombooking.system.dto.AuditLogRecord;
+import com.roombooking.system.enums.AuditAction;
+import com.roombooking.system.model.AuditLog;
+import com.roombooking.system.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "management.health.mail.enabled=false")
+class AuditLogQueryTests {
+
+    private static final String ENTITY_TYPE = "QUERY_TEST";
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void seedLogs() {
+        auditLogRepository.deleteAll(auditLogRepository.findByEntityTypeAndEntityId(ENTITY_TYPE, 1L));
+        for (AuditAction action : List.of(AuditAction.CREATE, AuditAction.UPDATE, AuditAction.CREATE,
+                AuditAction.UPDATE, AuditAction.CREATE)) {
+            AuditLog log = new AuditLog();
+            log.setEntityType(ENTITY_TYPE);
+            log.setEntityId(1L);
+            log.setAction(action);
+            auditLogRepository.save(log);
+        }
+    }
+
+    @Test
+    void pagesOnlyThroughTheFiltersThatAreSet() {
+        AuditLogFilter filter = new AuditLogFilter(null, ENTITY_TYPE, null, AuditAction.CREATE, null, null);
+
+        List<AuditLogRecord> seen = new ArrayList<>();
+        AuditLogPage page = auditLogService.getLogsPage(filter, null, 2);
+        seen.addAll(page.items());
+        assertThat(page.nextCursor()).isNotNull();
+        page = auditLogService.getLogsPage(filter, page.nextCursor(), 2);
+        seen.addAll(page.items());
+        assertThat(page.nextCursor()).isNull();
+
+        assertThat(seen).hasSize(3)
+                .allSatisfy(r -> assertThat(r.action()).isEqualTo(AuditAction.CREATE))
+                .extracting(AuditLogRecord::id).doesNotHaveDuplicates()
+                .isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void countsMatchesInTheDatabase() {
+        AuditLogCount count = auditLogService.estimateCount(
+                new AuditLogFilter(null, ENTITY_TYPE, 1L, AuditAction.UPDATE, null, null));
+        assertThat(count).isEqualTo(new AuditLogCount(2, true));
+    }
+}
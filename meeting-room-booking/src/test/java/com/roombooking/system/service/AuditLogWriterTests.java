@@ -0,0 +1,119 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.AuditAction;
+import com.roombooking.system.service.AuditLogWriter.AuditEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class AuditLogWriterTests {
+
+    // Long enough that only a full batch or shutdown makes the writer flush
+    private static final long FLUSH_INTERVAL_MS = 3_600_000;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Each JDBC batch the writer issued, copied because the writer reuses its list
+    private final List<List<AuditEvent>> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void recordBatches() {
+        doAnswer(invocation -> {
+            Collection<AuditEvent> batch = invocation.getArgument(1);
+            batches.add(new ArrayList<>(batch));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void dropsEventsOnceTheBufferIsFull() {
+        // Not started, so nothing drains the buffer
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 3, 100, FLUSH_INTERVAL_MS);
+
+        assertThat(writer.enqueue(event(1))).isTrue();
+        assertThat(writer.enqueue(event(2))).isTrue();
+        assertThat(writer.enqueue(event(3))).isTrue();
+        assertThat(writer.enqueue(event(4))).isFalse();
+        assertThat(writer.enqueue(event(5))).isFalse();
+
+        assertThat(counter("audit.events.enqueued")).isEqualTo(3);
+        assertThat(counter("audit.events.dropped")).isEqualTo(2);
+        assertThat(meterRegistry.get("audit.buffer.size").gauge().value()).isEqualTo(3);
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    void flushesBufferedEventsOnShutdown() throws InterruptedException {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 50, FLUSH_INTERVAL_MS);
+        writer.start();
+        for (long id = 1; id <= 5; id++) {
+            writer.enqueue(event(id));
+        }
+
+        writer.stop();
+
+        assertThat(batches.stream().flatMap(List::stream).map(AuditEvent::entityId))
+                .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(counter("audit.events.written")).isEqualTo(5);
+        assertThat(meterRegistry.get("audit.buffer.size").gauge().value()).isZero();
+    }
+
+    // Full batches are written as they fill; shutdown writes the remainder in batch-sized pieces
+    @Test
+    void writesInBatchesOfTheConfiguredSize() throws InterruptedException {
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 3, FLUSH_INTERVAL_MS);
+        writer.start();
+        for (long id = 1; id <= 7; id++) {
+            writer.enqueue(event(id));
+        }
+
+        writer.stop();
+
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(batches.stream().flatMap(List::stream).map(AuditEvent::entityId))
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void countsFailedWritesWithoutThrowing() throws InterruptedException {
+        doThrow(new RuntimeException("database down")).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(),
+                anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        AuditLogWriter writer = new AuditLogWriter(jdbcTemplate, meterRegistry, 100, 50, FLUSH_INTERVAL_MS);
+        writer.start();
+        writer.enqueue(event(1));
+        writer.enqueue(event(2));
+
+        writer.stop();
+
+        assertThat(counter("audit.events.failed")).isEqualTo(2);
+        assertThat(counter("audit.events.written")).isZero();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static AuditEvent event(long entityId) {
+        return new AuditEvent(1L, "BOOKING", entityId, AuditAction.CREATE, null, "{}", LocalDateTime.now());
+    }
+}
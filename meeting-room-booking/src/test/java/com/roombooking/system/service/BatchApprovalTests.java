@@ -0,0 +1,160 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.ApprovalRequest;
+import com.roombooking.system.dto.BatchApprovalResult;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.enums.UserRole;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.model.User;
+import com.roombooking.system.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@Import(TestFixtures.class)
+@SpringBootTest(properties = "management.health.mail.enabled=false")
+class BatchApprovalTests {
+
+    private static final String CONFLICT = "Room has been booked by another approved booking";
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User admin;
+    private User employee;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        long suffix = System.nanoTime();
+        admin = fixtures.saveUser("batch-admin-" + suffix, UserRole.ADMIN);
+        employee = fixtures.saveUser("batch-employee-" + suffix, UserRole.EMPLOYEE);
+        date = LocalDate.now().plusDays(45);
+    }
+
+    // Earliest-finish-first keeps the largest non-overlapping set in each room
+    @Test
+    void overlappingCandidatesInOneBatchApproveTheLargestDisjointSet() {
+        Room room = fixtures.saveRoom("Batch Overlap Room");
+        Room otherRoom = fixtures.saveRoom("Batch Other Room");
+        Booking morning = pending(room, 9, 11);
+        Booking spanning = pending(room, 10, 12);
+        Booking late = pending(room, 11, 12);
+        Booking elsewhere = pending(otherRoom, 10, 12);
+
+        List<BatchApprovalResult> results = bookingService.approveBookings(
+                approvals(spanning, morning, late, elsewhere));
+
+        assertThat(results)
+                .extracting(BatchApprovalResult::bookingId, BatchApprovalResult::success, BatchApprovalResult::status)
+                .containsExactly(
+                        tuple(spanning.getId(), false, BookingStatus.PENDING),
+                        tuple(morning.getId(), true, BookingStatus.APPROVED),
+                        tuple(late.getId(), true, BookingStatus.APPROVED),
+                        tuple(elsewhere.getId(), true, BookingStatus.APPROVED));
+        assertThat(results.get(0).message()).isEqualTo(CONFLICT);
+        assertThat(statusOf(spanning)).isEqualTo(BookingStatus.PENDING);
+        assertThat(statusOf(morning)).isEqualTo(BookingStatus.APPROVED);
+    }
+
+    @Test
+    void candidatesClashingWithApprovedBookingsStayPending() {
+        Room room = fixtures.saveRoom("Batch Existing Room");
+        fixtures.saveBooking(room, employee, "Approved", date, LocalTime.of(14, 0), LocalTime.of(15, 0),
+                BookingStatus.APPROVED);
+        Booking overlapping = pending(room, LocalTime.of(14, 30), LocalTime.of(15, 30));
+        Booking before = pending(room, LocalTime.of(13, 0), LocalTime.of(14, 0));
+        Booking after = pending(room, LocalTime.of(15, 0), LocalTime.of(16, 0));
+        // Only clashes on the approved booking's day
+        Booking nextDay = fixtures.saveBooking(room, employee, "Pending", date.plusDays(1),
+                LocalTime.of(14, 0), LocalTime.of(15, 0), BookingStatus.PENDING);
+
+        List<BatchApprovalResult> results = bookingService.approveBookings(
+                approvals(overlapping, before, after, nextDay));
+
+        assertThat(results)
+                .extracting(BatchApprovalResult::success, BatchApprovalResult::status)
+                .containsExactly(
+                        tuple(false, BookingStatus.PENDING),
+                        tuple(true, BookingStatus.APPROVED),
+                        tuple(true, BookingStatus.APPROVED),
+                        tuple(true, BookingStatus.APPROVED));
+        assertThat(results.get(0).message()).isEqualTo(CONFLICT);
+        assertThat(statusOf(overlapping)).isEqualTo(BookingStatus.PENDING);
+    }
+
+    // Invalid items fail on their own; the rest of the batch is still decided
+    @Test
+    void partialFailuresReportPerItemAndDecideTheRest() {
+        Room room = fixtures.saveRoom("Batch Mixed Room");
+        User notAdmin = fixtures.saveUser("batch-not-admin-" + System.nanoTime(), UserRole.EMPLOYEE);
+        Booking approved = pending(room, 9, 10);
+        Booking rejected = pending(room, 10, 11);
+        Booking alreadyApproved = fixtures.saveBooking(room, employee, "Done", date, LocalTime.of(16, 0),
+                LocalTime.of(17, 0), BookingStatus.APPROVED);
+        Booking byEmployee = pending(room, 12, 13);
+
+        List<BatchApprovalResult> results = bookingService.approveBookings(List.of(
+                new ApprovalRequest(approved.getId(), admin.getId(), true, null),
+                new ApprovalRequest(rejected.getId(), admin.getId(), false, null),
+                new ApprovalRequest(approved.getId(), admin.getId(), true, null),
+                new ApprovalRequest(Long.MAX_VALUE, admin.getId(), true, null),
+                new ApprovalRequest(alreadyApproved.getId(), admin.getId(), true, null),
+                new ApprovalRequest(byEmployee.getId(), notAdmin.getId(), true, null),
+                new ApprovalRequest(null, admin.getId(), true, null)));
+
+        assertThat(results)
+                .extracting(BatchApprovalResult::success, BatchApprovalResult::status, BatchApprovalResult::message)
+                .containsExactly(
+                        tuple(true, BookingStatus.APPROVED, "Booking approved"),
+                        tuple(true, BookingStatus.REJECTED, "Booking rejected"),
+                        tuple(false, null, "Booking appears more than once in batch"),
+                        tuple(false, null, "Booking not found"),
+                        tuple(false, BookingStatus.APPROVED, "Only PENDING bookings can be approved/rejected"),
+                        tuple(false, BookingStatus.PENDING, "Only admins can approve/reject bookings"),
+                        tuple(false, null, "Booking ID, admin ID and approval status are required"));
+        assertThat(statusOf(approved)).isEqualTo(BookingStatus.APPROVED);
+        assertThat(statusOf(rejected)).isEqualTo(BookingStatus.REJECTED);
+        assertThat(statusOf(byEmployee)).isEqualTo(BookingStatus.PENDING);
+    }
+
+    private Booking pending(Room room, int startHour, int endHour) {
+        return pending(room, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    private Booking pending(Room room, LocalTime start, LocalTime end) {
+        return fixtures.saveBooking(room, employee, "Pending", date, start, end, BookingStatus.PENDING);
+    }
+
+    private List<ApprovalRequest> approvals(Booking... bookings) {
+        return Arrays.stream(bookings)
+                .map(b -> new ApprovalRequest(b.getId(), admin.getId(), true, null))
+                .toList();
+    }
+
+    private BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,123 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.AnalyticsSummary;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.RoomRepository;
+import com.roombooking.system.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingAnalyticsStoreTests {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final BookingAnalyticsStore store = new BookingAnalyticsStore(
+            bookingRepository, roomRepository, userRepository, mock(PlatformTransactionManager.class));
+
+    private final Room boardroom = room(1L, "Boardroom");
+    private final Room huddle = room(2L, "Huddle");
+
+    @BeforeEach
+    void stubSnapshot() {
+        when(bookingRepository.countGroupedByStatus()).thenReturn(List.of(
+                new Object[] {BookingStatus.PENDING, 2L},
+                new Object[] {BookingStatus.APPROVED, 3L},
+                new Object[] {BookingStatus.CANCELLED, 1L}));
+        when(bookingRepository.countGroupedByRoom()).thenReturn(List.of(
+                new Object[] {1L, 4L},
+                new Object[] {2L, 2L}));
+        when(bookingRepository.countGroupedByStartHour()).thenReturn(List.of(
+                new Object[] {9, 4},
+                new Object[] {14, 2}));
+        when(roomRepository.findAllIdAndName()).thenReturn(List.of(
+                new Object[] {1L, "Boardroom"},
+                new Object[] {2L, "Huddle"}));
+        when(roomRepository.countByIsActiveTrue()).thenReturn(2L);
+        when(userRepository.countByIsActiveTrue()).thenReturn(5L);
+    }
+
+    @Test
+    void reconcileBuildsTheSummaryFromTheDatabase() {
+        store.reconcile();
+
+        assertThat(store.getSummary()).isEqualTo(new AnalyticsSummary(6, 2, 3, 0, 1, 2, 5, "Boardroom", "9:00"));
+    }
+
+    @Test
+    void changesMoveTheCountersAfterReconcile() {
+        store.reconcile();
+        AnalyticsSummary before = store.getSummary();
+
+        // Three new afternoon bookings in the huddle room overtake both leaders
+        for (int i = 0; i < 3; i++) {
+            store.bookingCreated(booking(huddle, 14));
+        }
+        store.bookingStatusChanged(BookingStatus.PENDING, BookingStatus.REJECTED);
+        store.bookingStatusChanged(BookingStatus.APPROVED, BookingStatus.APPROVED);
+        store.roomActivated(room(3L, "Annex"));
+        store.roomRenamed(room(2L, "Huddle Space"));
+        store.userRegistered();
+
+        AnalyticsSummary after = store.getSummary();
+        assertThat(after).isNotSameAs(before);
+        assertThat(after).isEqualTo(new AnalyticsSummary(9, 4, 3, 1, 1, 3, 6, "Huddle Space", "14:00"));
+        // Unchanged until the next change
+        assertThat(store.getSummary()).isSameAs(after);
+    }
+
+    // A change committed while reconcile reads is replayed onto the new snapshot
+    @Test
+    void changesDuringReconcileAreNotLost() {
+        when(userRepository.countByIsActiveTrue()).thenAnswer(invocation -> {
+            store.bookingCreated(booking(boardroom, 9));
+            return 5L;
+        });
+
+        store.reconcile();
+
+        AnalyticsSummary summary = store.getSummary();
+        assertThat(summary.totalBookings()).isEqualTo(7);
+        assertThat(summary.pendingBookings()).isEqualTo(3);
+    }
+
+    @Test
+    void failedReconcileDoesNotBlockTheNextOne() {
+        when(bookingRepository.countGroupedByRoom()).thenThrow(new RuntimeException("database down"));
+        assertThatThrownBy(store::reconcile).hasMessage("database down");
+
+        doReturn(List.<Object[]>of(new Object[] {1L, 6L})).when(bookingRepository).countGroupedByRoom();
+        store.reconcile();
+
+        assertThat(store.getSummary().totalBookings()).isEqualTo(6);
+    }
+
+    private static Room room(Long id, String name) {
+        Room room = new Room();
+        room.setId(id);
+        room.setName(name);
+        return room;
+    }
+
+    private static Booking booking(Room room, int hour) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setStartTime(LocalTime.of(hour, 0));
+        booking.setStatus(BookingStatus.PENDING);
+        return booking;
+    }
+}
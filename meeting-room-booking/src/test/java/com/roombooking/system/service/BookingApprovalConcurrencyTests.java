@@ -0,0 +1,96 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.ApprovalRequest;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.enums.UserRole;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.model.User;
+import com.roombooking.system.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestFixtures.class)
+@SpringBootTest(properties = "management.health.mail.enabled=false")
+class BookingApprovalConcurrencyTests {
+
+    private static final int APPROVERS = 64;
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void parallelApprovalsOfOverlappingBookingsApproveExactlyOne() throws Exception {
+        Room room = fixtures.saveRoom("Stress Room");
+        User admin = fixtures.saveUser("stress-admin", UserRole.ADMIN);
+        User employee = fixtures.saveUser("stress-employee", UserRole.EMPLOYEE);
+        LocalDate date = LocalDate.now().plusDays(30);
+
+        // Every booking overlaps every other one but has a distinct start time,
+        // so the (room_id, booking_date, start_time) constraint cannot help
+        List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < APPROVERS; i++) {
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(i);
+            bookingIds.add(fixtures.saveBooking(room, employee, "Stress test", date, start, LocalTime.of(12, 0),
+                    BookingStatus.PENDING).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(APPROVERS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (Long bookingId : bookingIds) {
+                results.add(pool.submit(() -> {
+                    startGate.await();
+                    try {
+                        bookingService.approveBooking(new ApprovalRequest(bookingId, admin.getId(), true, null));
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    }
+                }));
+            }
+            startGate.countDown();
+
+            int approved = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    approved++;
+                }
+            }
+            assertThat(approved).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Booking> approvedRows = bookingRepository.findAllById(bookingIds).stream()
+                .filter(b -> b.getStatus() == BookingStatus.APPROVED)
+                .toList();
+        assertThat(approvedRows).hasSize(1);
+    }
+}
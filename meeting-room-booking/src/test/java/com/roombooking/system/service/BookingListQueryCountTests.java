@@ -0,0 +1,157 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingFilter;
+import com.roombooking.system.dto.BookingPage;
+import com.roombooking.system.dto.BookingResponse;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.enums.UserRole;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.model.User;
+import com.roombooking.system.repository.BookingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Import(TestFixtures.class)
+@SpringBootTest(properties = {
+        "management.health.mail.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingListQueryCountTests {
+
+    private static final int BOOKINGS = 10;
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User employee;
+
+    @BeforeAll
+    void seedBookings() {
+        User admin = fixtures.saveUser("query-count-admin", UserRole.ADMIN);
+        employee = fixtures.saveUser("query-count-employee", UserRole.EMPLOYEE);
+        LocalDate date = LocalDate.now().plusDays(60);
+
+        // Each booking gets its own room, and every other one an approver,
+        // so lazy loading would show up as extra selects per row
+        for (int i = 0; i < BOOKINGS; i++) {
+            Room room = fixtures.saveRoom("Query Count Room " + i);
+            Booking booking = new Booking();
+            booking.setRoom(room);
+            booking.setUser(employee);
+            booking.setMeetingTitle("Query count " + i);
+            booking.setBookingDate(date);
+            booking.setStartTime(LocalTime.of(9, 0));
+            booking.setEndTime(LocalTime.of(10, 0));
+            if (i % 2 == 0) {
+                booking.setStatus(BookingStatus.PENDING);
+            } else {
+                booking.setStatus(BookingStatus.REJECTED);
+                booking.setApprovedBy(admin);
+            }
+            bookingRepository.save(booking);
+        }
+    }
+
+    // The /all listing without filters
+    @Test
+    void allBookingsPageIssuesOneStatement() {
+        BookingPage page = countingStatements(() -> bookingService.getBookingsPage(
+                new BookingFilter(null, null, null, null, null), null, BOOKINGS));
+        assertThat(page.items()).hasSize(BOOKINGS);
+    }
+
+    // The /my-bookings listing: one existence check for the user, then the page in one statement
+    @Test
+    void myBookingsPageIssuesTwoStatements() {
+        BookingPage page = countingStatements(2, () -> bookingService.getBookingsPage(
+                new BookingFilter(employee.getId(), null, null, null, null), null, 100));
+        List<BookingResponse> bookings = page.items();
+        assertThat(bookings).hasSize(BOOKINGS);
+        assertThat(bookings).allSatisfy(b -> assertThat(b.userName()).isEqualTo("query-count-employee"));
+        assertThat(bookings).filteredOn(b -> b.status() == BookingStatus.REJECTED)
+                .allSatisfy(b -> assertThat(b.approvedByName()).isEqualTo("query-count-admin"));
+    }
+
+    // Walking the cursor visits every booking once, each page in one statement after the user check
+    @Test
+    void myBookingsPagesFollowCursor() {
+        BookingFilter filter = new BookingFilter(employee.getId(), null, null, null, null);
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            BookingPage page = countingStatements(2, () -> bookingService.getBookingsPage(filter, after, 3));
+            page.items().forEach(b -> ids.add(b.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        assertThat(ids).hasSize(BOOKINGS).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void myBookingsPageRejectsUnknownUser() {
+        assertThatThrownBy(() -> bookingService.getBookingsPage(
+                new BookingFilter(Long.MAX_VALUE, null, null, null, null), null, null))
+                .hasMessage("User not found");
+    }
+
+    @Test
+    void getMyBookingCountsGroupsByStatus() {
+        Map<BookingStatus, Long> counts =
+                countingStatements(2, () -> bookingService.getMyBookingCounts(employee.getId()));
+        assertThat(counts).containsEntry(BookingStatus.PENDING, (long) BOOKINGS / 2)
+                .containsEntry(BookingStatus.REJECTED, (long) BOOKINGS / 2)
+                .containsEntry(BookingStatus.APPROVED, 0L);
+    }
+
+    @Test
+    void getPendingBookingsIssuesOneStatement() {
+        List<BookingResponse> bookings = countingStatements(() -> bookingService.getPendingBookings());
+        assertThat(bookings).allSatisfy(b -> assertThat(b.status()).isEqualTo(BookingStatus.PENDING));
+        assertThat(bookings).filteredOn(b -> b.userId().equals(employee.getId())).hasSize(BOOKINGS / 2);
+    }
+
+    private <T> T countingStatements(Supplier<T> call) {
+        return countingStatements(1, call);
+    }
+
+    private <T> T countingStatements(int expected, Supplier<T> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = call.get();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return result;
+    }
+}
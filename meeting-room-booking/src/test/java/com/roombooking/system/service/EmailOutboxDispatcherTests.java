@@ -0,0 +1,118 @@
+package com.roombooking.system.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.roombooking.system.enums.OutboxStatus;
+import com.roombooking.system.model.OutboxEmail;
+import com.roombooking.system.repository.EmailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the dispatcher against a local fake SMTP server (GreenMail on port 3025).
+// JavaMailSender logs in whenever a username is set, so GreenMail knows the sender.
+@SpringBootTest(properties = {
+        "management.health.mail.enabled=false",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=noreply@roombooking.test",
+        "spring.mail.password=secret",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "spring.mail.properties.mail.smtp.starttls.required=false",
+        "mail.outbox.poll-interval-ms=3600000",
+        "mail.outbox.rate-per-second=1000",
+        "mail.outbox.max-attempts=3",
+        "mail.outbox.backoff.initial-ms=60000"
+})
+class EmailOutboxDispatcherTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("noreply@roombooking.test", "secret"));
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversQueuedEmailsOverSmtp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            emailService.sendSimpleEmail("user" + i + "@example.com", "Outbox " + i, "Body " + i);
+        }
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getFrom()[0].toString()).isEqualTo("noreply@roombooking.test");
+        assertThat(outboxRepository.findAll()).allSatisfy(email -> {
+            assertThat(email.getStatus()).isEqualTo(OutboxStatus.SENT);
+            assertThat(email.getAttempts()).isEqualTo(1);
+            assertThat(email.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void rolledBackTransactionQueuesNothing() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendSimpleEmail("rollback@example.com", "Never sent", "Body");
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    void retriesWithBackoffWhenSmtpIsDown() {
+        greenMail.stop();
+        emailService.sendSimpleEmail("retry@example.com", "Retry", "Body");
+
+        dispatcher.dispatch();
+
+        OutboxEmail email = outboxRepository.findAll().get(0);
+        assertThat(email.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getLastError()).isNotBlank();
+        assertThat(email.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(50));
+    }
+
+    @Test
+    void deadLettersAfterLastAttempt() {
+        greenMail.stop();
+        emailService.sendSimpleEmail("dead@example.com", "Dead", "Body");
+        OutboxEmail queued = outboxRepository.findAll().get(0);
+        queued.setAttempts(2);
+        outboxRepository.save(queued);
+
+        dispatcher.dispatch();
+
+        List<OutboxEmail> emails = outboxRepository.findAll();
+        assertThat(emails).singleElement().satisfies(email -> {
+            assertThat(email.getStatus()).isEqualTo(OutboxStatus.DEAD);
+            assertThat(email.getAttempts()).isEqualTo(3);
+        });
+    }
+}
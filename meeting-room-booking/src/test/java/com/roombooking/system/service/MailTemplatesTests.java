@@ -0,0 +1,89 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingMailModel;
+import com.roombooking.system.service.MailTemplates.RenderedMail;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailTemplatesTests {
+
+    private final MailTemplates mailTemplates = new MailTemplates();
+
+    private final BookingMailModel model = new BookingMailModel(
+            "jane@example.com", "Jane <Doe>", "Jane <Doe>", "Design & Review", "Room 1",
+            LocalDate.of(2026, 3, 5), LocalTime.of(9, 30), LocalTime.of(10, 0), 4, null,
+            "Admin", LocalDateTime.of(2026, 3, 1, 14, 15), 15);
+
+    @Test
+    void rendersSubjectAndPlainText() {
+        RenderedMail mail = mailTemplates.render(MailTemplates.BOOKING_APPROVED, model);
+
+        assertThat(mail.subject()).isEqualTo("Booking Approved - Design & Review");
+        assertThat(mail.text())
+                .startsWith("Dear Jane <Doe>,")
+                .contains("Meeting Title: Design & Review")
+                .contains("Approved By: Admin");
+    }
+
+    @Test
+    void escapesValuesInHtml() {
+        RenderedMail mail = mailTemplates.render(MailTemplates.BOOKING_APPROVED, model);
+
+        assertThat(mail.html())
+                .contains("Dear Jane &lt;Doe&gt;,")
+                .contains("<td>Design &amp; Review</td>");
+    }
+
+    @Test
+    void textOnlyTemplatesHaveNoHtml() {
+        RenderedMail mail = mailTemplates.render(MailTemplates.MEETING_REMINDER, model);
+
+        assertThat(mail.subject()).isEqualTo("Reminder: Meeting in 15 minutes - Design & Review");
+        assertThat(mail.html()).isNull();
+    }
+
+    @Test
+    void summaryLineIsNotPartOfTheBody() {
+        RenderedMail mail = mailTemplates.render(MailTemplates.BOOKING_REQUEST, model);
+
+        assertThat(mail.summary())
+                .isEqualTo("New request: Design & Review in Room 1 on 05-Mar-2026, 09:30 AM to 10:00 AM (by Jane <Doe>)");
+        assertThat(mail.text()).startsWith("Dear Admin,").doesNotContain("Summary:");
+    }
+
+    @Test
+    void rendersDigest() {
+        RenderedMail mail = mailTemplates.renderDigest(2, "- First\n- Second");
+
+        assertThat(mail.subject()).isEqualTo("Your booking notifications (2)");
+        assertThat(mail.text()).contains("- First\n- Second");
+        assertThat(mail.html()).isNull();
+    }
+
+    @Test
+    void rendersRecurringNoticeFromFirstAndLastOccurrence() {
+        BookingMailModel last = new BookingMailModel(model.recipientEmail(), model.recipientName(), model.requestedBy(),
+                model.meetingTitle(), model.roomName(), LocalDate.of(2026, 4, 30), model.startTime(), model.endTime(),
+                model.attendeesCount(), model.description(), null, null, 0);
+        RenderedMail mail = mailTemplates.renderRecurringCreated(model, last, 8);
+
+        assertThat(mail.summary()).startsWith("Scheduled: 8 x Design & Review in Room 1, 05-Mar-2026 to 30-Apr-2026");
+        assertThat(mail.text()).contains("8 bookings have been created");
+    }
+
+    @Test
+    void compileSplitsLiteralsAndPlaceholders() {
+        MailTemplate template = MailTemplate.compile("Hi {{ name }}, see {{room}}.", false);
+
+        assertThat(template.keys()).containsExactly("name", "room");
+        assertThat(template.render(key -> key.toUpperCase())).isEqualTo("Hi NAME, see ROOM.");
+        assertThatThrownBy(() -> MailTemplate.compile("Hi {{name", false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
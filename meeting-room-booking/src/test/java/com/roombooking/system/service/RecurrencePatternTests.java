@@ -0,0 +1,73 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.RecurrenceFrequency;
+import com.roombooking.system.model.RecurringRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrencePatternTests {
+
+    @Test
+    void weeklyJumpsToSelectedWeekdays() {
+        // 2026-03-04 is a Wednesday; Mon, Wed, Fri
+        RecurringRule rule = rule(RecurrenceFrequency.WEEKLY, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 12, 31));
+        rule.setDaysOfWeekMask(RecurrencePattern.toMask(List.of(1, 3, 5)));
+
+        assertThat(expand(rule, LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 13))).containsExactly(
+                LocalDate.of(2026, 3, 4), LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 9),
+                LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 13));
+    }
+
+    @Test
+    void dailyStaysWithinTheRule() {
+        RecurringRule rule = rule(RecurrenceFrequency.DAILY, LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 7));
+
+        assertThat(expand(rule, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31))).containsExactly(
+                LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 7));
+    }
+
+    @Test
+    void monthlySkipsMonthsWithoutTheDay() {
+        RecurringRule rule = rule(RecurrenceFrequency.MONTHLY, LocalDate.of(2026, 1, 31), LocalDate.of(2026, 6, 30));
+
+        assertThat(expand(rule, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 6, 30))).containsExactly(
+                LocalDate.of(2026, 1, 31), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 5, 31));
+    }
+
+    @Test
+    void weeklyWithoutDaysNeverOccurs() {
+        RecurringRule rule = rule(RecurrenceFrequency.WEEKLY, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 12, 31));
+
+        assertThat(expand(rule, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 12, 31))).isEmpty();
+    }
+
+    @Test
+    void convertsBetweenDaysAndMask() {
+        assertThat(RecurrencePattern.toMask(List.of(1, 3, 5))).isEqualTo(0b10101);
+        assertThat(RecurrencePattern.toDays(0b1000001)).containsExactly(1, 7);
+        assertThatThrownBy(() -> RecurrencePattern.toMask(List.of(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RecurringRule rule(RecurrenceFrequency frequency, LocalDate start, LocalDate end) {
+        RecurringRule rule = new RecurringRule();
+        rule.setFrequency(frequency);
+        rule.setStartDate(start);
+        rule.setEndDate(end);
+        return rule;
+    }
+
+    private static List<LocalDate> expand(RecurringRule rule, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        Iterator<LocalDate> occurrences = RecurrencePattern.compile(rule).occurrences(from, to);
+        occurrences.forEachRemaining(dates::add);
+        return dates;
+    }
+}
@@ -0,0 +1,295 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.RecurringBookingRequest;
+import com.roombooking.system.dto.RecurringPreviewResponse;
+import com.roombooking.system.dto.RecurringRunReport;
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.enums.RecurrenceFrequency;
+import com.roombooking.system.enums.UserRole;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.RecurringRule;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.model.User;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.EmailOutboxRepository;
+import com.roombooking.system.repository.RecurringRuleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(TestFixtures.class)
+@SpringBootTest(properties = {
+        "management.health.mail.enabled=false",
+        "recurring.horizon-days=7",
+        "recurring.chunk-size=2"
+})
+class RecurringBookingMaterializationTests {
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private RecurringBookingService recurringBookingService;
+
+    @Autowired
+    private RecurringRuleRepository recurringRuleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private RecurringBookingMaterializer materializer;
+
+    @Autowired
+    private BookingAnalyticsStore bookingAnalyticsStore;
+
+    @Autowired
+    private RoomUtilizationService roomUtilizationService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void skipsTakenAndConflictingSlotsAndIsIdempotent() {
+        Room room = fixtures.saveRoom("Recurring Room");
+        User owner = fixtures.saveUser("recurring-owner", UserRole.EMPLOYEE);
+        User other = fixtures.saveUser("recurring-other", UserRole.EMPLOYEE);
+        LocalDate today = LocalDate.now();
+
+        // Overlaps the 14:00-15:00 occurrence two days out
+        fixtures.saveBooking(room, other, "Existing", today.plusDays(2), LocalTime.of(14, 30), LocalTime.of(15, 30),
+                BookingStatus.APPROVED);
+        // Holds the exact slot three days out; pending, so only the unique key applies
+        fixtures.saveBooking(room, other, "Existing", today.plusDays(3), LocalTime.of(14, 0), LocalTime.of(14, 30),
+                BookingStatus.PENDING);
+        // Touches but does not overlap the occurrence four days out
+        fixtures.saveBooking(room, other, "Existing", today.plusDays(4), LocalTime.of(13, 0), LocalTime.of(14, 0),
+                BookingStatus.APPROVED);
+
+        RecurringRule rule = new RecurringRule();
+        rule.setUser(owner);
+        rule.setRoom(room);
+        rule.setMeetingTitle("Daily stand-up");
+        rule.setStartDate(today);
+        rule.setEndDate(today.plusDays(30));
+        rule.setStartTime(LocalTime.of(14, 0));
+        rule.setEndTime(LocalTime.of(15, 0));
+        rule.setFrequency(RecurrenceFrequency.DAILY);
+        rule.setIsActive(true);
+        rule.setMaterializeDueOn(today);
+        rule = recurringRuleRepository.save(rule);
+
+        RecurringRunReport first = recurringBookingService.processRecurringBookings();
+        RecurringRunReport second = recurringBookingService.processRecurringBookings();
+
+        assertThat(first.created()).isEqualTo(6);
+        assertThat(first.skipped()).isEqualTo(1);
+        assertThat(first.conflicted()).isEqualTo(1);
+        assertThat(first.failedRules()).isZero();
+        assertThat(second.rules()).isZero();
+
+        List<LocalDate> dates = bookingRepository.findByRoom(room).stream()
+                .filter(b -> b.getMeetingTitle().equals("Daily stand-up"))
+                .map(Booking::getBookingDate)
+                .sorted()
+                .toList();
+        assertThat(dates).containsExactly(
+                today, today.plusDays(1), today.plusDays(4), today.plusDays(5), today.plusDays(6), today.plusDays(7));
+
+        // Covered through the horizon; tomorrow only the newly uncovered day is due
+        RecurringRule materialized = recurringRuleRepository.findById(rule.getId()).orElseThrow();
+        assertThat(materialized.getMaterializedThrough()).isEqualTo(today.plusDays(7));
+        assertThat(materialized.getMaterializeDueOn()).isEqualTo(today.plusDays(1));
+
+        assertThat(recurringBookingService.getMyRecurringBookings(owner.getId()))
+                .singleElement()
+                .satisfies(r -> assertThat(r.bookingsCreated()).isEqualTo(6));
+    }
+
+    @Test
+    void usesTheRuleHorizonAndStopsOnceTheRuleEnds() {
+        Room room = fixtures.saveRoom("Quarterly Room");
+        User owner = fixtures.saveUser("quarterly-owner", UserRole.EMPLOYEE);
+        LocalDate today = LocalDate.now();
+
+        RecurringRule rule = new RecurringRule();
+        rule.setUser(owner);
+        rule.setRoom(room);
+        rule.setMeetingTitle("Planning");
+        rule.setStartDate(today);
+        rule.setEndDate(today.plusDays(60));
+        rule.setStartTime(LocalTime.of(9, 0));
+        rule.setEndTime(LocalTime.of(10, 0));
+        rule.setFrequency(RecurrenceFrequency.DAILY);
+        rule.setHorizonDays(90);
+        rule.setIsActive(true);
+        rule.setMaterializeDueOn(today);
+        rule = recurringRuleRepository.save(rule);
+
+        recurringBookingService.processRecurringBookings();
+
+        assertThat(bookingRepository.findByRoom(room)).hasSize(61);
+        RecurringRule materialized = recurringRuleRepository.findById(rule.getId()).orElseThrow();
+        assertThat(materialized.getMaterializeDueOn()).isNull();
+
+        // One notice for the whole rule, not one per occurrence
+        assertThat(outboxRepository.findAll())
+                .filteredOn(email -> email.getRecipient().equals("quarterly-owner@example.com"))
+                .singleElement()
+                .satisfies(email -> assertThat(email.getSubject()).isEqualTo("Recurring Booking Scheduled - Planning"));
+    }
+
+    @Test
+    void resumesARunThatStartedButNeverFinished() throws InterruptedException {
+        Room room = fixtures.saveRoom("Resume Room");
+        User owner = fixtures.saveUser("resume-owner", UserRole.EMPLOYEE);
+        LocalDate today = LocalDate.now();
+
+        // State left by a run that committed its first chunk (three days) and then died
+        RecurringRule rule = saveDailyRule(room, owner, "Resumed sync", LocalTime.of(11, 0));
+        for (int day = 0; day < 3; day++) {
+            Booking booking = fixtures.saveBooking(room, owner, "Resumed sync", today.plusDays(day),
+                    LocalTime.of(11, 0), LocalTime.of(12, 0), BookingStatus.PENDING);
+            booking.setRecurringRule(rule);
+            bookingRepository.save(booking);
+        }
+        rule.setMaterializedThrough(today.plusDays(2));
+        rule = recurringRuleRepository.save(rule);
+
+        // A due rule alone is not an interrupted run
+        assertThat(materializer.hasInterruptedRun()).isFalse();
+        jdbcTemplate.update("INSERT INTO recurring_runs (started_at) VALUES (?)",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)));
+        assertThat(materializer.hasInterruptedRun()).isTrue();
+
+        materializer.resumeInterruptedRun();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (materializer.hasInterruptedRun()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+
+        // Picks up after the committed chunk without recreating it
+        assertThat(bookingRepository.findByRoom(room))
+                .extracting(Booking::getBookingDate)
+                .containsExactlyInAnyOrderElementsOf(today.datesUntil(today.plusDays(8)).toList());
+        RecurringRule materialized = recurringRuleRepository.findById(rule.getId()).orElseThrow();
+        assertThat(materialized.getMaterializedThrough()).isEqualTo(today.plusDays(7));
+        assertThat(materializer.getLastReport().skipped()).isZero();
+    }
+
+    @Test
+    void concurrentRunsCreateEachOccurrenceOnce() throws Exception {
+        User owner = fixtures.saveUser("concurrent-owner", UserRole.EMPLOYEE);
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Room room = fixtures.saveRoom("Concurrent Room " + i);
+            saveDailyRule(room, owner, "Concurrent sync " + i, LocalTime.of(11, 0));
+            saveDailyRule(room, owner, "Concurrent review " + i, LocalTime.of(16, 0));
+            rooms.add(room);
+        }
+
+        // A second materializer stands in for another application instance
+        RecurringBookingMaterializer other = new RecurringBookingMaterializer(recurringRuleRepository,
+                bookingRepository, bookingAnalyticsStore, roomUtilizationService, emailService,
+                jdbcTemplate, transactionTemplate, 7, 2, 4);
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<RecurringRunReport> first = executor.submit(() -> {
+                start.await();
+                return materializer.run();
+            });
+            Future<RecurringRunReport> second = executor.submit(() -> {
+                start.await();
+                return other.run();
+            });
+            start.countDown();
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+        }
+
+        for (Room room : rooms) {
+            List<Booking> bookings = bookingRepository.findByRoom(room);
+            assertThat(bookings).hasSize(16);
+            assertThat(bookings)
+                    .extracting(b -> b.getBookingDate() + " " + b.getStartTime())
+                    .doesNotHaveDuplicates();
+        }
+        assertThat(materializer.hasInterruptedRun()).isFalse();
+    }
+
+    @Test
+    void previewReportsOccurrencesOverlappingApprovedBookings() {
+        Room room = fixtures.saveRoom("Preview Room");
+        User owner = fixtures.saveUser("preview-owner", UserRole.EMPLOYEE);
+        User other = fixtures.saveUser("preview-other", UserRole.EMPLOYEE);
+        LocalDate start = LocalDate.now().plusDays(10);
+
+        fixtures.saveBooking(room, other, "Existing", start.plusDays(2), LocalTime.of(14, 30), LocalTime.of(15, 30),
+                BookingStatus.APPROVED);
+        fixtures.saveBooking(room, other, "Existing", start.plusDays(3), LocalTime.of(14, 0), LocalTime.of(14, 30),
+                BookingStatus.PENDING);
+        fixtures.saveBooking(room, other, "Existing", start.plusDays(4), LocalTime.of(13, 0), LocalTime.of(14, 0),
+                BookingStatus.APPROVED);
+        fixtures.saveBooking(room, other, "Existing", start.plusDays(5), LocalTime.of(9, 0), LocalTime.of(10, 0),
+                BookingStatus.APPROVED);
+        fixtures.saveBooking(room, other, "Existing", start.plusDays(5), LocalTime.of(14, 45), LocalTime.of(16, 0),
+                BookingStatus.APPROVED);
+
+        RecurringPreviewResponse preview = recurringBookingService.previewRecurringBooking(new RecurringBookingRequest(
+                room.getId(), owner.getId(), "Sync", null, start, start.plusDays(364),
+                LocalTime.of(14, 0), LocalTime.of(15, 0), RecurrenceFrequency.DAILY, null, null, null));
+
+        assertThat(preview.occurrences()).isEqualTo(365);
+        assertThat(preview.conflictingDates()).containsExactly(start.plusDays(2), start.plusDays(5));
+        // Nothing is created by a preview
+        assertThat(recurringRuleRepository.findByUser(owner)).isEmpty();
+    }
+
+    // Hour-long daily rule for the next month, due today
+    private RecurringRule saveDailyRule(Room room, User owner, String title, LocalTime startTime) {
+        RecurringRule rule = new RecurringRule();
+        rule.setUser(owner);
+        rule.setRoom(room);
+        rule.setMeetingTitle(title);
+        rule.setStartDate(LocalDate.now());
+        rule.setEndDate(LocalDate.now().plusDays(30));
+        rule.setStartTime(startTime);
+        rule.setEndTime(startTime.plusHours(1));
+        rule.setFrequency(RecurrenceFrequency.DAILY);
+        rule.setIsActive(true);
+        rule.setMaterializeDueOn(LocalDate.now());
+        return recurringRuleRepository.save(rule);
+    }
+}
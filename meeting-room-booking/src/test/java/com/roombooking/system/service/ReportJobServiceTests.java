@@ -0,0 +1,177 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.ReportJobResponse;
+import com.roombooking.system.dto.ReportRequest;
+import com.roombooking.system.enums.ReportJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ReportJobServiceTests {
+
+    private static final ReportRequest REQUEST =
+            new ReportRequest(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), null, null, null);
+
+    @TempDir
+    Path jobsDir;
+
+    private final ReportService reportService = mock(ReportService.class);
+
+    // Tasks wait here until the test runs them; a null queue rejects like a full executor
+    private Queue<Runnable> queue = new ArrayDeque<>();
+
+    private ReportJobService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ReportJobService(reportService, task -> {
+            if (queue == null) {
+                throw new RejectedExecutionException("full");
+            }
+            queue.add(task);
+        });
+        ReflectionTestUtils.setField(service, "jobsDir", jobsDir.toString());
+        ReflectionTestUtils.setField(service, "ttlMinutes", 30L);
+        service.init();
+    }
+
+    @Test
+    void initRemovesFilesLeftByAPreviousRun() throws IOException {
+        Files.writeString(jobsDir.resolve("orphan.pdf"), "old");
+        Files.writeString(jobsDir.resolve("orphan.part"), "old");
+
+        service.init();
+
+        assertThat(jobsDir).isEmptyDirectory();
+    }
+
+    @Test
+    void identicalRequestsShareOneJob() throws IOException {
+        writesReport("%PDF-report");
+
+        ReportJobResponse first = service.submit(REQUEST, "january.pdf");
+        ReportJobResponse again = service.submit(
+                new ReportRequest(REQUEST.startDate(), REQUEST.endDate(), null, null, null), "january.pdf");
+        ReportJobResponse otherRoom = service.submit(
+                new ReportRequest(REQUEST.startDate(), REQUEST.endDate(), null, 7L, null), "room.pdf");
+
+        assertThat(again.jobId()).isEqualTo(first.jobId());
+        assertThat(otherRoom.jobId()).isNotEqualTo(first.jobId());
+        assertThat(queue).hasSize(2);
+
+        // A finished job keeps serving the same request until it expires
+        runQueued();
+        assertThat(service.submit(REQUEST, "january.pdf").jobId()).isEqualTo(first.jobId());
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    void fullQueueFailsTheJobAndALaterSubmitRetries() throws IOException {
+        queue = null;
+
+        assertThatThrownBy(() -> service.submit(REQUEST, "january.pdf"))
+                .hasMessage("Report queue is full, please try again later");
+
+        queue = new ArrayDeque<>();
+        writesReport("%PDF-report");
+        ReportJobResponse retry = service.submit(REQUEST, "january.pdf");
+        assertThat(retry.status()).isEqualTo(ReportJobStatus.QUEUED);
+        assertThat(queue).hasSize(1);
+    }
+
+    // The PDF only appears under its final name once it is complete
+    @Test
+    void publishesTheFileOnlyWhenComplete() throws IOException {
+        String[] jobId = new String[1];
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("%PDF-".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            assertThat(jobsDir.resolve(jobId[0] + ".part")).exists();
+            assertThat(jobsDir.resolve(jobId[0] + ".pdf")).doesNotExist();
+            assertThatThrownBy(() -> service.getReportFile(jobId[0]))
+                    .hasMessage("Report is not ready yet (status: RUNNING)");
+            out.write("report".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(reportService).writeBookingsReport(eq(REQUEST), any(), any());
+
+        jobId[0] = service.submit(REQUEST, "january.pdf").jobId();
+        runQueued();
+
+        assertThat(service.getJob(jobId[0]).status()).isEqualTo(ReportJobStatus.COMPLETED);
+        assertThat(service.getReportFile(jobId[0])).hasContent("%PDF-report");
+        assertThat(jobsDir.resolve(jobId[0] + ".part")).doesNotExist();
+    }
+
+    @Test
+    void failedJobLeavesNoFiles() throws IOException {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("%PDF-".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("disk full");
+        }).when(reportService).writeBookingsReport(eq(REQUEST), any(), any());
+
+        String jobId = service.submit(REQUEST, "january.pdf").jobId();
+        runQueued();
+
+        ReportJobResponse job = service.getJob(jobId);
+        assertThat(job.status()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(job.error()).isEqualTo("disk full");
+        assertThat(jobsDir).isEmptyDirectory();
+    }
+
+    @Test
+    void evictionDropsExpiredJobsAndTheirFiles() throws IOException {
+        writesReport("%PDF-report");
+        String fresh = service.submit(REQUEST, "january.pdf").jobId();
+        runQueued();
+
+        // Expires as soon as it completes
+        ReflectionTestUtils.setField(service, "ttlMinutes", -1L);
+        ReportRequest other = new ReportRequest(REQUEST.startDate(), REQUEST.endDate(), 3L, null, null);
+        String expired = service.submit(other, "mine.pdf").jobId();
+        runQueued();
+        Path expiredFile = service.getReportFile(expired);
+
+        service.evictExpiredJobs();
+
+        assertThatThrownBy(() -> service.getJob(expired)).hasMessage("Report job not found or expired");
+        assertThat(expiredFile).doesNotExist();
+        assertThat(service.getReportFile(fresh)).exists();
+        // The same request now starts a new job
+        assertThat(service.submit(other, "mine.pdf").jobId()).isNotEqualTo(expired);
+    }
+
+    private void writesReport(String content) throws IOException {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(reportService).writeBookingsReport(any(), any(), any());
+    }
+
+    private void runQueued() {
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.dto.BookingSlot;
+import com.roombooking.system.dto.RoomUtilizationStats;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoomUtilizationServiceTests {
+
+    // Monday to Sunday: five business days of 9:00-18:00
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    private static final List<BookingSlot> SLOTS = List.of(
+            slot(MONDAY, 8, 0, 10, 0),              // 9:00-10:00 counts
+            slot(MONDAY, 17, 30, 19, 0),            // 17:30-18:00 counts
+            slot(MONDAY.plusDays(1), 10, 30, 12, 15),
+            slot(MONDAY.plusDays(2), 6, 0, 8, 0),   // Entirely before opening
+            slot(MONDAY.plusDays(5), 10, 0, 12, 0)  // Saturday
+    );
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+
+    private final RoomUtilizationService service =
+            new RoomUtilizationService(bookingRepository, roomRepository, 9, 18, false, 100);
+
+    private final Room room = room(1L, "Boardroom");
+
+    @BeforeEach
+    void stubRepositories() {
+        when(roomRepository.findByIsActiveTrue()).thenReturn(List.of(room));
+        when(roomRepository.findById(1L)).thenReturn(Optional.of(room));
+        when(bookingRepository.countByRoomInWindow(any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] {1L, 6L, 5L}));
+        when(bookingRepository.findApprovedSlotsForRooms(any(), any(), any())).thenReturn(SLOTS);
+    }
+
+    @Test
+    void clipsBookedMinutesToBusinessHoursAndDays() {
+        RoomUtilizationStats stats = service.getUtilization(MONDAY, SUNDAY, null).get(0);
+
+        assertThat(stats.totalBookings()).isEqualTo(6);
+        assertThat(stats.approvedBookings()).isEqualTo(5);
+        assertThat(stats.bookedMinutes()).isEqualTo(60 + 30 + 105);
+        assertThat(stats.availableMinutes()).isEqualTo(5 * 9 * 60);
+        assertThat(stats.utilizationPercentage()).isEqualTo(7.22);
+        assertThat(stats.dailyOccupancy()).containsExactly(
+                entry(MONDAY, 16.67),
+                entry(MONDAY.plusDays(1), 19.44),
+                entry(MONDAY.plusDays(2), 0.0),
+                entry(MONDAY.plusDays(3), 0.0),
+                entry(MONDAY.plusDays(4), 0.0));
+    }
+
+    // Each business hour is booked minutes in that hour over 60 minutes per business day
+    @Test
+    void splitsBookingsAcrossTheHourlyHeatmap() {
+        Map<Integer, Double> hourly = service.getUtilization(MONDAY, SUNDAY, 1L).get(0).hourlyOccupancy();
+
+        assertThat(hourly).containsOnlyKeys(9, 10, 11, 12, 13, 14, 15, 16, 17);
+        assertThat(hourly).contains(
+                entry(9, 20.0),
+                entry(10, 10.0),
+                entry(11, 20.0),
+                entry(12, 5.0),
+                entry(13, 0.0),
+                entry(17, 10.0));
+    }
+
+    @Test
+    void countsWeekendsWhenConfigured() {
+        RoomUtilizationService withWeekends =
+                new RoomUtilizationService(bookingRepository, roomRepository, 9, 18, true, 100);
+
+        RoomUtilizationStats stats = withWeekends.getUtilization(MONDAY, SUNDAY, null).get(0);
+
+        assertThat(stats.bookedMinutes()).isEqualTo(60 + 30 + 105 + 120);
+        assertThat(stats.availableMinutes()).isEqualTo(7 * 9 * 60);
+        assertThat(stats.dailyOccupancy()).hasSize(7);
+    }
+
+    @Test
+    void servesRepeatedWindowsFromTheCache() {
+        List<RoomUtilizationStats> first = service.getUtilization(MONDAY, SUNDAY, null);
+        List<RoomUtilizationStats> second = service.getUtilization(MONDAY, SUNDAY, 1L);
+
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        verify(bookingRepository, times(1)).findApprovedSlotsForRooms(any(), any(), any());
+    }
+
+    @Test
+    void invalidatesOnlyWindowsContainingTheBooking() {
+        service.getUtilization(MONDAY, SUNDAY, null);
+
+        // Outside the cached window, or another room: still cached
+        service.invalidate(booking(room, SUNDAY.plusDays(1)));
+        service.invalidate(booking(room(2L, "Huddle"), MONDAY));
+        service.getUtilization(MONDAY, SUNDAY, null);
+        verify(bookingRepository, times(1)).findApprovedSlotsForRooms(any(), any(), any());
+
+        service.invalidate(booking(room, MONDAY.plusDays(3)));
+        service.getUtilization(MONDAY, SUNDAY, null);
+        verify(bookingRepository, times(2)).findApprovedSlotsForRooms(any(), any(), any());
+
+        service.invalidateRoom(1L);
+        service.getUtilization(MONDAY, SUNDAY, null);
+        verify(bookingRepository, times(3)).findApprovedSlotsForRooms(any(), any(), any());
+    }
+
+    // A booking change while the window is computed must not leave a stale entry behind
+    @Test
+    void doesNotCacheResultsThatRacedWithAChange() {
+        when(bookingRepository.findApprovedSlotsForRooms(any(), any(), any())).thenAnswer(invocation -> {
+            service.invalidate(booking(room, MONDAY));
+            return SLOTS;
+        });
+
+        service.getUtilization(MONDAY, SUNDAY, null);
+        service.getUtilization(MONDAY, SUNDAY, null);
+
+        verify(bookingRepository, times(2)).findApprovedSlotsForRooms(any(), any(), any());
+    }
+
+    @Test
+    void rejectsInvalidWindows() {
+        assertThatThrownBy(() -> service.getUtilization(SUNDAY, MONDAY, null))
+                .hasMessage("Start date cannot be after end date");
+        assertThatThrownBy(() -> service.getUtilization(MONDAY, MONDAY.plusDays(366), null))
+                .hasMessage("Utilization window cannot exceed 366 days");
+        assertThatThrownBy(() -> service.getUtilization(MONDAY, SUNDAY, 99L))
+                .hasMessage("Room not found with ID: 99");
+    }
+
+    private static Room room(Long id, String name) {
+        Room room = new Room();
+        room.setId(id);
+        room.setName(name);
+        return room;
+    }
+
+    private static Booking booking(Room room, LocalDate date) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setBookingDate(date);
+        return booking;
+    }
+
+    private static BookingSlot slot(LocalDate date, int startHour, int startMinute, int endHour, int endMinute) {
+        return new BookingSlot(null, 1L, date, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+}
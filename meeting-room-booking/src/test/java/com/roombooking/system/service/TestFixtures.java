@@ -0,0 +1,57 @@
+package com.roombooking.system.service;
+
+import com.roombooking.system.enums.BookingStatus;
+import com.roombooking.system.enums.UserRole;
+import com.roombooking.system.model.Booking;
+import com.roombooking.system.model.Room;
+import com.roombooking.system.model.User;
+import com.roombooking.system.repository.BookingRepository;
+import com.roombooking.system.repository.RoomRepository;
+import com.roombooking.system.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Saved rooms, users and bookings for Spring tests; add with @Import(TestFixtures.class)
+@TestComponent
+@RequiredArgsConstructor
+class TestFixtures {
+
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+
+    Room saveRoom(String name) {
+        Room room = new Room();
+        room.setName(name);
+        room.setCapacity(10);
+        room.setIsActive(true);
+        return roomRepository.save(room);
+    }
+
+    User saveUser(String username, UserRole role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setFullName(username);
+        user.setRole(role);
+        user.setIsActive(true);
+        return userRepository.save(user);
+    }
+
+    Booking saveBooking(Room room, User user, String title, LocalDate date, LocalTime start, LocalTime end,
+                        BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setUser(user);
+        booking.setMeetingTitle(title);
+        booking.setBookingDate(date);
+        booking.setStartTime(start);
+        booking.setEndTime(end);
+        booking.setStatus(status);
+        return bookingRepository.save(booking);
+    }
+}
@@ -8,28 +8,40 @@ export default function AuditLogs() {
   const [logs, setLogs] = useState([]);
   const [loading, setLoading] = useState(true);
   const [filter, setFilter] = useState('ALL');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [total, setTotal] = useState(null);
 
   useEffect(() => {
     fetchLogs();
+    fetchCount();
   }, [filter]);
 
-  const fetchLogs = async () => {
+  // Filtering happens on the server; pages are appended via the cursor
+  const fetchLogs = async (cursor = null) => {
+    const params = { cursor, entityType: filter === 'ALL' ? undefined : filter };
     try {
-      setLoading(true);
-      let response;
-      
-      if (filter === 'ALL') {
-        response = await auditAPI.getRecent();
-      } else {
-        response = await auditAPI.getByEntityType(filter);
-      }
-      
-      setLogs(response.data.data);
+      if (cursor) setLoadingMore(true);
+      else setLoading(true);
+      const response = await auditAPI.getLogs(params);
+      const page = response.data.data;
+      setLogs(prev => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('Failed to fetch audit logs:', error);
       toast.error('Failed to fetch audit logs');
     } finally {
       setLoading(false);
+      setLoadingMore(false);
+    }
+  };
+
+  const fetchCount = async () => {
+    try {
+      const response = await auditAPI.countLogs({ entityType: filter === 'ALL' ? undefined : filter });
+      setTotal(response.data.data);
+    } catch (error) {
+      setTotal(null);
     }
   };
 
@@ -54,6 +66,24 @@ export default function AuditLogs() {
           <p className="text-gray-600 dark:text-gray-400 mt-1">Track all system activities</p>
         </div>
 
+        <div className="mb-6 flex items-center gap-3">
+          <Filter className="w-5 h-5 text-gray-500" />
+          <select
+            value={filter}
+            onChange={(e) => setFilter(e.target.value)}
+            className="input-field w-auto"
+          >
+            <option value="ALL">All entities</option>
+            <option value="BOOKING">Bookings</option>
+            <option value="ROOM">Rooms</option>
+          </select>
+          {total && (
+            <span className="text-sm text-gray-600 dark:text-gray-400">
+              {total.exact ? total.count : `${total.count}+`} entries
+            </span>
+          )}
+        </div>
+
         {loading ? (
           <div className="text-center py-12">
             <div className="animate-spin rounded-full h-12 w-12 border-b-2 border-blue-600 mx-auto"></div>
@@ -94,6 +124,17 @@ export default function AuditLogs() {
                 ))}
               </tbody>
             </table>
+            {nextCursor && (
+              <div className="py-4 text-center">
+                <button
+                  onClick={() => fetchLogs(nextCursor)}
+                  disabled={loadingMore}
+                  className="btn-secondary mx-auto"
+                >
+                  {loadingMore ? 'Loading...' : 'Load more'}
+                </button>
+              </div>
+            )}
           </div>
         )}
 
@@ -40,14 +40,48 @@ export default function PendingApprovals() {
     }
   };
 
+  const handleApproveAll = async () => {
+    try {
+      const response = await bookingAPI.approveBatch(
+        bookings.map((booking) => ({
+          bookingId: booking.id,
+          adminId: user.userId,
+          approve: true,
+        }))
+      );
+
+      const results = response.data.data;
+      const failed = results.filter((result) => !result.success);
+      if (failed.length === 0) {
+        toast.success(`Approved ${results.length} bookings`);
+      } else {
+        toast.error(`${failed.length} of ${results.length} bookings could not be approved`);
+      }
+      fetchPendingBookings();
+    } catch (error) {
+      toast.error(error.response?.data?.message || 'Failed to process approvals');
+    }
+  };
+
   return (
     <div className="min-h-screen bg-gray-50 dark:bg-gray-900">
       <Navbar />
       
       <div className="max-w-7xl mx-auto px-4 sm:px-6 lg:px-8 py-8">
-        <div className="mb-8">
-          <h1 className="text-3xl font-bold text-gray-900 dark:text-white">Pending Approvals</h1>
-          <p className="text-gray-600 dark:text-gray-400 mt-1">Review and approve booking requests</p>
+        <div className="mb-8 flex items-center justify-between">
+          <div>
+            <h1 className="text-3xl font-bold text-gray-900 dark:text-white">Pending Approvals</h1>
+            <p className="text-gray-600 dark:text-gray-400 mt-1">Review and approve booking requests</p>
+          </div>
+          {bookings.length > 1 && (
+            <button
+              onClick={handleApproveAll}
+              className="flex items-center space-x-2 px-6 py-3 bg-green-500 text-white rounded-lg hover:bg-green-600 transition-colors font-medium"
+            >
+              <CheckCircle className="w-5 h-5" />
+              <span>Approve All</span>
+            </button>
+          )}
         </div>
 
         {loading ? (
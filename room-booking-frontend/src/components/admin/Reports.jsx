@@ -15,6 +15,24 @@ export default function Reports() {
     setFormData({ ...formData, [e.target.name]: e.target.value });
   };
 
+  // Queue a report job, poll until it finishes, then download the file
+  const runReportJob = async (submitJob, filename) => {
+    const submitted = await submitJob;
+    let job = submitted.data.data;
+
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+      await new Promise((resolve) => setTimeout(resolve, 1000));
+      const response = await reportAPI.getJob(job.jobId);
+      job = response.data.data;
+    }
+
+    if (job.status !== 'COMPLETED') {
+      throw new Error(job.error || 'Report generation failed');
+    }
+
+    await downloadPDF(reportAPI.downloadJob(job.jobId), filename);
+  };
+
   const downloadPDF = async (reportData, filename) => {
     try {
       const response = await reportData;
@@ -36,7 +54,7 @@ export default function Reports() {
     setLoading(true);
 
     try {
-      const reportData = reportAPI.generatePDF({
+      const submitJob = reportAPI.submitJob({
         startDate: formData.startDate,
         endDate: formData.endDate,
         userId: null,
@@ -44,7 +62,7 @@ export default function Reports() {
         status: null,
       });
 
-      await downloadPDF(reportData, `bookings_${formData.startDate}_to_${formData.endDate}.pdf`);
+      await runReportJob(submitJob, `bookings_${formData.startDate}_to_${formData.endDate}.pdf`);
     } catch (error) {
       toast.error('Failed to generate custom report');
     } finally {
@@ -55,23 +73,20 @@ export default function Reports() {
   const handleQuickReport = async (type) => {
     setLoading(true);
     try {
-      let reportData;
       let filename;
 
       switch (type) {
         case 'current-month':
-          reportData = reportAPI.getCurrentMonth();
           filename = 'current_month_report.pdf';
           break;
         case 'last-week':
-          reportData = reportAPI.getLastWeek();
           filename = 'last_week_report.pdf';
           break;
         default:
           throw new Error('Invalid report type');
       }
 
-      await downloadPDF(reportData, filename);
+      await runReportJob(reportAPI.submitQuickJob(type), filename);
     } catch (error) {
       toast.error('Failed to generate report');
     } finally {
@@ -18,15 +18,18 @@ export default function EmployeeDashboard() {
 
   const fetchMyBookings = async () => {
     try {
-      const response = await bookingAPI.getMyBookings(user.userId);
-      const data = response.data.data;
-      setBookings(data);
-      
-      // Calculate stats
+      // Totals come from the server; the table only shows the first few bookings
+      const [bookingsResponse, countsResponse] = await Promise.all([
+        bookingAPI.getMyBookings(user.userId, { size: 5 }),
+        bookingAPI.getMyBookingCounts(user.userId),
+      ]);
+      setBookings(bookingsResponse.data.data.items);
+
+      const counts = countsResponse.data.data;
       setStats({
-        pending: data.filter(b => b.status === 'PENDING').length,
-        approved: data.filter(b => b.status === 'APPROVED').length,
-        rejected: data.filter(b => b.status === 'REJECTED').length,
+        pending: counts.PENDING,
+        approved: counts.APPROVED,
+        rejected: counts.REJECTED,
       });
     } catch (error) {
       toast.error('Failed to fetch bookings');
@@ -10,19 +10,27 @@ export default function MyBookings() {
   const [bookings, setBookings] = useState([]);
   const [loading, setLoading] = useState(true);
   const [filter, setFilter] = useState('ALL');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     fetchMyBookings();
-  }, []);
+  }, [filter]);
 
-  const fetchMyBookings = async () => {
+  // Status filtering happens on the server; pages are appended via the cursor
+  const fetchMyBookings = async (cursor = null) => {
+    const params = { cursor, status: filter === 'ALL' ? undefined : filter };
     try {
-      const response = await bookingAPI.getMyBookings(user.userId);
-      setBookings(response.data.data);
+      if (cursor) setLoadingMore(true);
+      const response = await bookingAPI.getMyBookings(user.userId, params);
+      const page = response.data.data;
+      setBookings(prev => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
     } catch (error) {
       toast.error('Failed to fetch bookings');
     } finally {
       setLoading(false);
+      setLoadingMore(false);
     }
   };
 
@@ -57,11 +65,6 @@ export default function MyBookings() {
     }
   };
 
-  const filteredBookings = bookings.filter(booking => {
-    if (filter === 'ALL') return true;
-    return booking.status === filter;
-  });
-
   return (
     <div className="min-h-screen bg-gray-50 dark:bg-gray-900">
       <Navbar />
@@ -78,7 +81,7 @@ export default function MyBookings() {
             {['ALL', 'PENDING', 'APPROVED', 'REJECTED', 'CANCELLED'].map((status) => (
               <button
                 key={status}
-                onClick={() => setFilter(status)}
+                onClick={() => { setLoading(true); setFilter(status); }}
                 className={`px-4 py-2 rounded-lg font-medium whitespace-nowrap transition-colors ${
                   filter === status
                     ? 'bg-blue-600 text-white'
@@ -86,8 +89,6 @@ export default function MyBookings() {
                 }`}
               >
                 {status}
-                {status === 'ALL' && ` (${bookings.length})`}
-                {status !== 'ALL' && ` (${bookings.filter(b => b.status === status).length})`}
               </button>
             ))}
           </div>
@@ -98,14 +99,14 @@ export default function MyBookings() {
           <div className="text-center py-12">
             <div className="animate-spin rounded-full h-12 w-12 border-b-2 border-blue-600 mx-auto"></div>
           </div>
-        ) : filteredBookings.length === 0 ? (
+        ) : bookings.length === 0 ? (
           <div className="card text-center py-12">
             <Calendar className="w-16 h-16 text-gray-300 mx-auto mb-4" />
             <p className="text-gray-500">No bookings found</p>
           </div>
         ) : (
           <div className="grid grid-cols-1 gap-6">
-            {filteredBookings.map((booking) => (
+            {bookings.map((booking) => (
               <div key={booking.id} className="card hover:shadow-lg transition-shadow">
                 <div className="flex justify-between items-start">
                   <div className="flex-1">
@@ -172,6 +173,16 @@ export default function MyBookings() {
                 </div>
               </div>
             ))}
+
+            {nextCursor && (
+              <button
+                onClick={() => fetchMyBookings(nextCursor)}
+                disabled={loadingMore}
+                className="btn-secondary mx-auto"
+              >
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            )}
           </div>
         )}
       </div>
@@ -24,13 +24,38 @@ export default function RecurringBookings() {
     frequency: 'WEEKLY',
     daysOfWeek: [],
     attendeesCount: '',
+    horizonDays: '',
   });
+  const [preview, setPreview] = useState(null);
 
   useEffect(() => {
     fetchRooms();
     fetchMyRules();
   }, []);
 
+  // Re-check the series against approved bookings while the form is edited
+  useEffect(() => {
+    const { roomId, meetingTitle, startDate, endDate, startTime, endTime, frequency, daysOfWeek } = formData;
+    if (!showModal || !roomId || !meetingTitle || !startDate || !endDate || !startTime || !endTime
+        || (frequency === 'WEEKLY' && daysOfWeek.length === 0)) {
+      setPreview(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await recurringAPI.preview(toRecurringData());
+        if (!cancelled) setPreview(response.data.data);
+      } catch (error) {
+        if (!cancelled) setPreview(null);
+      }
+    }, 300);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [formData, showModal]);
+
   const fetchRooms = async () => {
     try {
       const response = await roomAPI.getAll();
@@ -51,19 +76,20 @@ export default function RecurringBookings() {
     }
   };
 
+  const toRecurringData = () => ({
+    ...formData,
+    userId: user.userId,
+    roomId: parseInt(formData.roomId),
+    attendeesCount: parseInt(formData.attendeesCount) || 0,
+    daysOfWeek: formData.frequency === 'WEEKLY' ? formData.daysOfWeek : null,
+    horizonDays: parseInt(formData.horizonDays) || null,
+  });
+
   const handleSubmit = async (e) => {
     e.preventDefault();
 
     try {
-      const recurringData = {
-        ...formData,
-        userId: user.userId,
-        roomId: parseInt(formData.roomId),
-        attendeesCount: parseInt(formData.attendeesCount) || 0,
-        daysOfWeek: formData.frequency === 'WEEKLY' ? formData.daysOfWeek : null,
-      };
-
-      await recurringAPI.create(recurringData);
+      await recurringAPI.create(toRecurringData());
       toast.success('Recurring booking created! Individual bookings will be created automatically.');
       setShowModal(false);
       resetForm();
@@ -97,6 +123,7 @@ export default function RecurringBookings() {
       frequency: 'WEEKLY',
       daysOfWeek: [],
       attendeesCount: '',
+    horizonDays: '',
     });
   };
 
@@ -177,17 +204,18 @@ export default function RecurringBookings() {
                       </div>
                     </div>
 
-                    {rule.daysOfWeek && (
+                    {rule.daysOfWeek?.length > 0 && (
                       <div className="mt-3">
                         <span className="text-sm font-medium text-gray-700 dark:text-gray-300">Days: </span>
                         <span className="text-sm text-gray-600 dark:text-gray-400">
-                          {JSON.parse(rule.daysOfWeek).map((d) => dayNames[d - 1]).join(', ')}
+                          {rule.daysOfWeek.map((d) => dayNames[d - 1]).join(', ')}
                         </span>
                       </div>
                     )}
 
                     <div className="mt-3 text-sm text-gray-500 dark:text-gray-400">
                       Bookings created: {rule.bookingsCreated || 0}
+                      {rule.materializedThrough && ` · Booked through ${rule.materializedThrough}`}
                     </div>
                   </div>
 
@@ -321,6 +349,22 @@ export default function RecurringBookings() {
                     </select>
                   </div>
 
+                  <div className="md:col-span-2">
+                    <label className="block text-sm font-medium text-gray-700 dark:text-gray-300 mb-2">
+                      Book Ahead (days)
+                    </label>
+                    <input
+                      type="number"
+                      name="horizonDays"
+                      value={formData.horizonDays}
+                      onChange={handleChange}
+                      className="input-field"
+                      min="1"
+                      max="366"
+                      placeholder="Default: 7"
+                    />
+                  </div>
+
                   {formData.frequency === 'WEEKLY' && (
                     <div className="md:col-span-2">
                       <label className="block text-sm font-medium text-gray-700 dark:text-gray-300 mb-2">
@@ -346,6 +390,27 @@ export default function RecurringBookings() {
                   )}
                 </div>
 
+                {preview && (
+                  <div
+                    className={`p-3 rounded-lg text-sm ${
+                      preview.conflictingDates.length > 0
+                        ? 'bg-yellow-50 dark:bg-yellow-900/20 text-yellow-800 dark:text-yellow-300'
+                        : 'bg-green-50 dark:bg-green-900/20 text-green-800 dark:text-green-300'
+                    }`}
+                  >
+                    {preview.conflictingDates.length > 0 ? (
+                      <>
+                        {preview.conflictingDates.length} of {preview.occurrences} occurrences conflict with
+                        approved bookings and will be skipped:{' '}
+                        {preview.conflictingDates.slice(0, 10).join(', ')}
+                        {preview.conflictingDates.length > 10 && ` and ${preview.conflictingDates.length - 10} more`}
+                      </>
+                    ) : (
+                      `All ${preview.occurrences} occurrences are currently free`
+                    )}
+                  </div>
+                )}
+
                 <div className="flex space-x-3 pt-4">
                   <button
                     type="button"
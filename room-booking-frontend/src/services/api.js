@@ -29,10 +29,13 @@ export const roomAPI = {
 // Booking APIs
 export const bookingAPI = {
   create: (bookingData) => api.post('/bookings', bookingData),
-  getMyBookings: (userId) => api.get(`/bookings/my-bookings?userId=${userId}`),
-  getAllBookings: () => api.get('/bookings/all'),
+  // Paged: params may carry status, roomId, startDate, endDate, cursor, size
+  getMyBookings: (userId, params = {}) => api.get('/bookings/my-bookings', { params: { userId, ...params } }),
+  getMyBookingCounts: (userId) => api.get('/bookings/my-bookings/counts', { params: { userId } }),
+  getAllBookings: (params = {}) => api.get('/bookings/all', { params }),
   getPending: () => api.get('/bookings/pending'),
   approve: (approvalData) => api.post('/bookings/approve', approvalData),
+  approveBatch: (approvals) => api.post('/bookings/approve/batch', approvals),
   cancel: (bookingId, userId) => api.delete(`/bookings/${bookingId}?userId=${userId}`),
   getById: (id) => api.get(`/bookings/${id}`),
 };
@@ -40,6 +43,7 @@ export const bookingAPI = {
 // Recurring Booking APIs
 export const recurringAPI = {
   create: (recurringData) => api.post('/recurring-bookings', recurringData),
+  preview: (recurringData) => api.post('/recurring-bookings/preview', recurringData),
   getMyRules: (userId) => api.get(`/recurring-bookings/my-rules?userId=${userId}`),
   delete: (ruleId, userId) => api.delete(`/recurring-bookings/${ruleId}?userId=${userId}`),
   processNow: () => api.post('/recurring-bookings/process-now'),
@@ -53,11 +57,18 @@ export const reportAPI = {
   getRoomUtilization: () => api.get('/reports/analytics/room-utilization'),
   getCurrentMonth: () => api.get('/reports/bookings/current-month', { responseType: 'blob' }),
   getLastWeek: () => api.get('/reports/bookings/last-week', { responseType: 'blob' }),
+  submitJob: (reportData) => api.post('/reports/jobs', reportData),
+  submitQuickJob: (type) => api.post(`/reports/jobs/${type}`),
+  getJob: (jobId) => api.get(`/reports/jobs/${jobId}`),
+  downloadJob: (jobId) => api.get(`/reports/jobs/${jobId}/download`, { responseType: 'blob' }),
 };
 
 // Audit Log APIs
 export const auditAPI = {
   getRecent: () => api.get('/audit/recent'),
+  // Paged: params may carry userId, entityType, entityId, action, start, end, cursor, size
+  getLogs: (params = {}) => api.get('/audit/logs', { params }),
+  countLogs: (params = {}) => api.get('/audit/logs/count', { params }),
   getByEntityType: (entityType) => api.get(`/audit/entity/${entityType}`),
   getByEntity: (entityType, entityId) => api.get(`/audit/entity/${entityType}/${entityId}`),
   getByDateRange: (start, end) => api.get(`/audit/date-range?start=${start}&end=${end}`),